@@ -0,0 +1,70 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara un barrido de colisiones contra el tarro usando objetos
+ * Rectangle (Rectangle.overlaps), usando las columnas de AlmacenGotas
+ * y usando la fase amplia por la franja del tarro (descarte por y, luego x).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColisionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int cantidad;
+
+    private Rectangle[] rectangulos;
+    private AlmacenGotas almacen;
+    private Rectangle tarro;
+    private final BroadphaseFranja broadphase = new BroadphaseFranja();
+
+    @Setup
+    public void preparar() {
+        RandomXS128 aleatorio = new RandomXS128(7);
+        tarro = new Rectangle(368, 20, 64, 64);
+        rectangulos = new Rectangle[cantidad];
+        almacen = new AlmacenGotas(AlmacenGotas.TIPO_BUENA, cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            float x = aleatorio.nextFloat() * (SimulacionLluvia.ANCHO_MUNDO - 64);
+            float y = aleatorio.nextFloat() * SimulacionLluvia.ALTO_MUNDO;
+            rectangulos[i] = new Rectangle(x, y, 64, 64);
+            almacen.agregar(x, y, 64, 64);
+        }
+    }
+
+    @Benchmark
+    public int barridoRectangle() {
+        int colisiones = 0;
+        for (Rectangle r : rectangulos) {
+            if (r.overlaps(tarro)) colisiones++;
+        }
+        return colisiones;
+    }
+
+    @Benchmark
+    public int barridoAlmacenGotas() {
+        int colisiones = 0;
+        for (int i = 0, n = almacen.getCantidad(); i < n; i++) {
+            if (almacen.colisiona(i, tarro.x, tarro.y, tarro.width, tarro.height)) colisiones++;
+        }
+        return colisiones;
+    }
+
+    @Benchmark
+    public int broadphaseFranja() {
+        return broadphase.buscarColisiones(almacen, tarro.x, tarro.y, tarro.width, tarro.height);
+    }
+}
@@ -0,0 +1,25 @@
+package puppy.code;
+
+/**
+ * Entradas fijas para ejecutar la simulacion sin teclado.
+ */
+public final class EntradasBenchmark {
+
+    /**
+     * El tarro no se mueve.
+     */
+    public static final Entrada QUIETO = new Entrada() {
+        @Override
+        public boolean izquierda() {
+            return false;
+        }
+
+        @Override
+        public boolean derecha() {
+            return false;
+        }
+    };
+
+    private EntradasBenchmark() {
+    }
+}
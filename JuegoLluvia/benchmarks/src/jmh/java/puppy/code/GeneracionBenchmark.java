@@ -0,0 +1,52 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el camino de creacion de gotas: un paso de simulacion que crea
+ * gotasPorPaso gotas nuevas. Con 1 es el ritmo de un nivel normal; con 8
+ * es la rafaga de Tormenta (una gota por milisegundo). Las gotas caen y salen
+ * de pantalla, asi que la cantidad de gotas vivas se estabiliza y el almacen
+ * deja de crecer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeneracionBenchmark {
+
+    @Param({"1", "8"})
+    public int gotasPorPaso;
+
+    private RelojSimulado reloj;
+    private SimulacionLluvia lluvia;
+    private SimulacionTarro tarro;
+
+    @Setup
+    public void preparar() {
+        reloj = new RelojSimulado();
+        lluvia = new SimulacionLluvia(64, 64, 64, 64, reloj, new RandomXS128(3));
+        // El paso dividido en partes iguales: el reloj avanza un poco mas que
+        // gotasPorPaso intervalos, asi se crean exactamente gotasPorPaso gotas por paso
+        long intervalo = (long) (BucleFijo.PASO_POR_DEFECTO * 1e9) / gotasPorPaso;
+        lluvia.setNivelDificultad(new NivelBenchmark(200f, intervalo, Long.MAX_VALUE));
+        lluvia.crear();
+        tarro = new SimulacionTarro(64, 64, EntradasBenchmark.QUIETO);
+    }
+
+    @Benchmark
+    public int pasoConGeneracion() {
+        reloj.avanzar(BucleFijo.PASO_POR_DEFECTO);
+        lluvia.actualizar(tarro, BucleFijo.PASO_POR_DEFECTO);
+        return lluvia.getGotasBuenas().getCantidad() + lluvia.getGotasMalas().getCantidad();
+    }
+}
@@ -0,0 +1,59 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide un paso de SimulacionLluvia.actualizar (la logica que ejecuta
+ * Lluvia.actualizarMovimiento) con distintas cantidades de gotas vivas.
+ *
+ * Las gotas tienen velocidad 0 y estan lejos del tarro, asi la cantidad
+ * de gotas no cambia entre invocaciones; el trabajo por gota (mover,
+ * revisar si salio de pantalla y probar colision) es el mismo que en el juego.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LluviaBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int gotasVivas;
+
+    private RelojSimulado reloj;
+    private SimulacionLluvia lluvia;
+    private SimulacionTarro tarro;
+
+    @Setup
+    public void preparar() {
+        reloj = new RelojSimulado();
+        RandomXS128 aleatorio = new RandomXS128(42);
+        lluvia = new SimulacionLluvia(64, 64, 64, 64, reloj, aleatorio);
+        lluvia.setNivelDificultad(new NivelBenchmark(0f, Long.MAX_VALUE, Long.MAX_VALUE));
+        lluvia.crear();
+        tarro = new SimulacionTarro(64, 64, EntradasBenchmark.QUIETO);
+
+        // Repartir las gotas por encima de la franja del tarro (y >= 100)
+        for (int i = 0; i < gotasVivas; i++) {
+            float x = aleatorio.nextFloat() * (SimulacionLluvia.ANCHO_MUNDO - 64);
+            float y = 100 + aleatorio.nextFloat() * (SimulacionLluvia.ALTO_MUNDO - 100);
+            AlmacenGotas almacen = (i & 1) == 0 ? lluvia.getGotasBuenas() : lluvia.getGotasMalas();
+            almacen.agregar(x, y, 64, 64);
+        }
+    }
+
+    @Benchmark
+    public int actualizarMovimiento() {
+        reloj.avanzar(BucleFijo.PASO_POR_DEFECTO);
+        lluvia.actualizar(tarro, BucleFijo.PASO_POR_DEFECTO);
+        return lluvia.getGotasBuenas().getCantidad();
+    }
+}
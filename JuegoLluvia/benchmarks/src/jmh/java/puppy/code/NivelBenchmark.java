@@ -0,0 +1,60 @@
+package puppy.code;
+
+/**
+ * Nivel de dificultad configurable para los benchmarks.
+ * Permite fijar la velocidad de las gotas y los intervalos de creacion,
+ * por ejemplo velocidad 0 para que la cantidad de gotas vivas no cambie
+ * entre invocaciones.
+ */
+public class NivelBenchmark implements NivelDificultad {
+
+    private final float velocidad;
+    private final long intervaloGotas;
+    private final long intervaloPowerUps;
+
+    public NivelBenchmark(float velocidad, long intervaloGotas, long intervaloPowerUps) {
+        this.velocidad = velocidad;
+        this.intervaloGotas = intervaloGotas;
+        this.intervaloPowerUps = intervaloPowerUps;
+    }
+
+    @Override
+    public String getNombre() {
+        return "Benchmark";
+    }
+
+    @Override
+    public float getVelocidadGotasBuenas() {
+        return velocidad;
+    }
+
+    @Override
+    public float getVelocidadGotasMalas() {
+        return velocidad;
+    }
+
+    @Override
+    public long getIntervaloCreacionGotas() {
+        return intervaloGotas;
+    }
+
+    @Override
+    public float getProbabilidadGotaBuena() {
+        return 0.5f;
+    }
+
+    @Override
+    public int getVidasIniciales() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public long getIntervaloPowerUps() {
+        return intervaloPowerUps;
+    }
+
+    @Override
+    public String getDescripcion() {
+        return "Nivel configurable para benchmarks";
+    }
+}
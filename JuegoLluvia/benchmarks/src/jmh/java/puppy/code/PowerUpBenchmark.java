@@ -0,0 +1,68 @@
+package puppy.code;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide PowerUp.actualizar mas colisionaCon sobre muchos PowerUps,
+ * el recorrido que hace la simulacion en cada paso.
+ *
+ * Los PowerUps empiezan repartidos en toda la altura de la pantalla, asi algunos
+ * estan a la altura del tarro. Antes de cada invocacion vuelven a su posicion
+ * inicial; si no, despues de unos cientos de pasos todos quedarian debajo de la
+ * pantalla y solo se mediria el caso sin colision. Con 16 PowerUps el resultado
+ * incluye el costo fijo de ese reinicio por invocacion que agrega JMH.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PowerUpBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int cantidad;
+
+    private PowerUp[] powerUps;
+    private float[] yInicial;
+    private SimulacionTarro tarro;
+
+    @Setup
+    public void preparar() {
+        tarro = new SimulacionTarro(64, 64, EntradasBenchmark.QUIETO);
+        powerUps = new PowerUp[cantidad];
+        yInicial = new float[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            float x = (i * 37) % (SimulacionLluvia.ANCHO_MUNDO - 48);
+            yInicial[i] = (i * 53) % SimulacionLluvia.ALTO_MUNDO;
+            powerUps[i] = (i & 1) == 0 ? new PowerUpVida(x, yInicial[i]) : new PowerUpPuntos(x, yInicial[i]);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void reiniciarPosiciones() {
+        for (int i = 0; i < cantidad; i++) {
+            PowerUp p = powerUps[i];
+            p.y = yInicial[i];
+            p.yAnterior = yInicial[i];
+            p.rect.setPosition(p.x, p.y);
+        }
+    }
+
+    @Benchmark
+    public int actualizarYColisionar() {
+        int colisiones = 0;
+        for (PowerUp p : powerUps) {
+            p.actualizar(BucleFijo.PASO_POR_DEFECTO);
+            if (p.colisionaCon(tarro)) colisiones++;
+        }
+        return colisiones;
+    }
+}
@@ -0,0 +1,138 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Jugador automatico: mueve el tarro hacia las gotas buenas y los PowerUps
+ * que puede alcanzar y lo aparta de las gotas malas que estan por caerle.
+ *
+ * Antes de cada paso se llama a decidir() con el estado de la simulacion.
+ * Para cada gota mala que llega al tarro dentro de HORIZONTE_PELIGRO segundos
+ * estima donde estaria el tarro si se mueve a la izquierda, se queda quieto o
+ * va a la derecha, y elige la opcion con menos choques; si empatan, va hacia
+ * el objetivo (lo alcanzable que llega primero, con los PowerUps adelante).
+ * No reserva memoria, asi se puede usar en las pruebas de resistencia.
+ */
+public class EntradaBot implements Entrada {
+
+    // Segundos hacia adelante en los que se esquivan las gotas malas
+    private static final float HORIZONTE_PELIGRO = 0.4f;
+
+    // Ventaja en segundos que se le da a un PowerUp frente a una gota buena
+    private static final float PREFERENCIA_POWERUP = 0.5f;
+
+    private static final int IZQUIERDA = -1, QUIETO = 0, DERECHA = 1;
+
+    private int direccion = QUIETO;
+
+    /**
+     * Elige el movimiento del proximo paso.
+     */
+    public void decidir(SimulacionTarro tarro, SimulacionLluvia lluvia) {
+        Rectangle r = tarro.getRectangulo();
+        NivelDificultad nivel = lluvia.getNivelDificultad();
+        float objetivo = buscarObjetivo(tarro, lluvia, nivel);
+
+        // Choques previstos con cada una de las tres opciones
+        int choquesIzquierda = choques(lluvia.getGotasMalas(), r, IZQUIERDA, nivel.getVelocidadGotasMalas());
+        int choquesQuieto = choques(lluvia.getGotasMalas(), r, QUIETO, nivel.getVelocidadGotasMalas());
+        int choquesDerecha = choques(lluvia.getGotasMalas(), r, DERECHA, nivel.getVelocidadGotasMalas());
+
+        int preferida = QUIETO;
+        float centro = r.x + r.width / 2f;
+        if (!Float.isNaN(objetivo) && Math.abs(objetivo - centro) > r.width / 8f) {
+            preferida = objetivo < centro ? IZQUIERDA : DERECHA;
+        }
+
+        int menor = Math.min(choquesQuieto, Math.min(choquesIzquierda, choquesDerecha));
+        if (choquesDe(preferida, choquesIzquierda, choquesQuieto, choquesDerecha) == menor) {
+            direccion = preferida;
+        } else if (choquesQuieto == menor) {
+            direccion = QUIETO;
+        } else {
+            direccion = choquesIzquierda == menor ? IZQUIERDA : DERECHA;
+        }
+    }
+
+    /**
+     * Centro x de lo que conviene atrapar, o NaN si no hay nada alcanzable.
+     */
+    private float buscarObjetivo(SimulacionTarro tarro, SimulacionLluvia lluvia, NivelDificultad nivel) {
+        Rectangle r = tarro.getRectangulo();
+        float borde = r.y + r.height;
+        float centro = r.x + r.width / 2f;
+        float mejorTiempo = Float.MAX_VALUE;
+        float objetivo = Float.NaN;
+
+        AlmacenGotas buenas = lluvia.getGotasBuenas();
+        float[] x = buenas.getX();
+        float[] y = buenas.getY();
+        float[] ancho = buenas.getAncho();
+        float velocidad = nivel.getVelocidadGotasBuenas();
+        for (int i = 0; i < buenas.getCantidad(); i++) {
+            float tiempo = (y[i] - borde) / velocidad;
+            float centroGota = x[i] + ancho[i] / 2f;
+            if (tiempo < mejorTiempo && alcanzable(centroGota - centro, tiempo, r.width)) {
+                mejorTiempo = tiempo;
+                objetivo = centroGota;
+            }
+        }
+
+        Array<PowerUp> powerUps = lluvia.getPowerUps();
+        for (int i = 0; i < powerUps.size; i++) {
+            PowerUp p = powerUps.get(i);
+            // Una vida extra no sirve con las vidas al maximo
+            if (p instanceof PowerUpVida && tarro.getVidas() >= SimulacionTarro.VIDAS_MAXIMAS) continue;
+            float tiempo = (p.rect.y - borde) / p.velocidadY;
+            float centroPowerUp = p.rect.x + p.rect.width / 2f;
+            if (tiempo - PREFERENCIA_POWERUP < mejorTiempo && alcanzable(centroPowerUp - centro, tiempo, r.width)) {
+                mejorTiempo = tiempo - PREFERENCIA_POWERUP;
+                objetivo = centroPowerUp;
+            }
+        }
+        return objetivo;
+    }
+
+    /**
+     * Indica si el tarro llega a tiempo a una distancia horizontal dada.
+     */
+    private static boolean alcanzable(float distancia, float tiempo, float anchoTarro) {
+        return tiempo >= 0 && Math.abs(distancia) <= SimulacionTarro.VELOCIDAD * tiempo + anchoTarro / 2f;
+    }
+
+    /**
+     * Cuantas gotas malas tocarian al tarro si se mueve en la direccion dada
+     * durante todo el horizonte.
+     */
+    private static int choques(AlmacenGotas malas, Rectangle r, int sentido, float velocidad) {
+        float[] x = malas.getX();
+        float[] y = malas.getY();
+        float[] ancho = malas.getAncho();
+        float[] alto = malas.getAlto();
+        float limite = SimulacionLluvia.ANCHO_MUNDO - r.width;
+        int choques = 0;
+        for (int i = 0; i < malas.getCantidad(); i++) {
+            // Tiempo hasta que la gota entra en la franja del tarro (0 si ya esta en ella)
+            float tiempo = Math.max(0f, (y[i] - (r.y + r.height)) / velocidad);
+            if (tiempo > HORIZONTE_PELIGRO || y[i] + alto[i] < r.y) continue;
+            float xTarro = Math.max(0f, Math.min(limite, r.x + sentido * SimulacionTarro.VELOCIDAD * tiempo));
+            if (x[i] < xTarro + r.width && x[i] + ancho[i] > xTarro) choques++;
+        }
+        return choques;
+    }
+
+    private static int choquesDe(int sentido, int izquierda, int quieto, int derecha) {
+        return sentido == IZQUIERDA ? izquierda : sentido == DERECHA ? derecha : quieto;
+    }
+
+    @Override
+    public boolean izquierda() {
+        return direccion == IZQUIERDA;
+    }
+
+    @Override
+    public boolean derecha() {
+        return direccion == DERECHA;
+    }
+}
@@ -0,0 +1,294 @@
+package puppy.code;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Prueba de regresion de memoria: un frame estable del juego no debe reservar memoria.
+ *
+ * Corre dentro del backend headless de libGDX con GLVacio como OpenGL y juega con
+ * EntradaBot una PartidaJuego, la misma clase que dibuja la pantalla de juego en
+ * CangriMain, con las regiones del atlas, los fondos, el SpriteBatch y la fuente.
+ * Alrededor de PartidaJuego.frame() cada frame medido hace lo que agrega
+ * CangriMain.render(): las cuentas de PerfiladorFrames y EstadisticasRender y la
+ * cola de GestorAudio, a 60 FPS. Despues de calentar mide con
+ * com.sun.management.ThreadMXBean los bytes reservados por el hilo en cada frame; si
+ * alguno supera el presupuesto termina con error, asi la tarea asignaciones de Gradle
+ * (parte de check) falla antes de que el problema llegue al juego como tirones del
+ * recolector de basura.
+ *
+ * El presupuesto por defecto deja pasar la creacion de un PowerUp (un objeto y su
+ * Rectangle), que ocurre cada algunos segundos; una reserva por gota o por paso lo supera.
+ * Necesita correr dentro de assets/ para encontrar el atlas, la fuente y los fondos.
+ *
+ * Uso: ./gradlew core:asignaciones [-PpresupuestoBytes=N]
+ */
+public class PruebaAsignaciones {
+
+    private static final String[] DIFICULTADES = {"Facil", "Medio", "Dificil", "Tormenta"};
+    private static final float DELTA_FRAME = 1f / 60f;
+
+    /**
+     * Bytes reservados en los frames medidos de una dificultad.
+     */
+    public static class Resultado {
+        public String dificultad;
+        public int frames;
+        public long bytesTotales;
+        public long bytesMaximos;
+        public int framesExcedidos;
+    }
+
+    private final com.sun.management.ThreadMXBean hilos;
+    private final long idHilo = Thread.currentThread().getId();
+    private long costoMedicion;  // Bytes que reserva la propia medicion
+
+    // Lo que CangriMain crea una sola vez
+    private final OrthographicCamera camara = new OrthographicCamera();
+    private final SpriteBatch batch = new SpriteBatch();
+    private final BitmapFont fuente = new BitmapFont();
+    private final EstadisticasRender estadisticas = new EstadisticasRender(batch);
+
+    /**
+     * Se crea en el hilo de la aplicacion headless, que es el que se mide.
+     */
+    public PruebaAsignaciones() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new UnsupportedOperationException("Esta JVM no mide memoria reservada por hilo");
+        }
+        hilos = (com.sun.management.ThreadMXBean) bean;
+        if (!hilos.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("Esta JVM no mide memoria reservada por hilo");
+        }
+        hilos.setThreadAllocatedMemoryEnabled(true);
+        calibrar();
+
+        camara.setToOrtho(false, 800, 480);
+        AtlasJuego.getInstance().cargar();
+        // Mismo banco que CangriMain.alCargarJuego (el backend headless da sonidos mudos)
+        GestorAudio audio = GestorAudio.getInstance();
+        audio.registrarSonido(GestorAudio.GOTA, Gdx.audio.newSound(Gdx.files.internal(GestorRecursos.SONIDO_GOTA)), 0.69f, 6);
+        audio.registrarSonido(GestorAudio.DANO, Gdx.audio.newSound(Gdx.files.internal(GestorRecursos.SONIDO_DANO)), 0.69f, 2);
+    }
+
+    private long reservados() {
+        return hilos.getThreadAllocatedBytes(idHilo);
+    }
+
+    /**
+     * Mide cuanto reserva una medicion vacia para descontarlo de cada frame.
+     */
+    private void calibrar() {
+        long minimo = Long.MAX_VALUE;
+        for (int i = 0; i < 10_000; i++) {
+            long antes = reservados();
+            minimo = Math.min(minimo, reservados() - antes);
+        }
+        costoMedicion = minimo;
+    }
+
+    /**
+     * Calienta la partida y mide cada frame siguiente.
+     */
+    public Resultado medir(NivelDificultad nivel, int framesCalentamiento, int framesMedidos,
+                           long presupuesto, long semilla) {
+        Partida partida = new Partida(nivel, semilla);
+        partida.reiniciar();
+
+        for (int f = 0; f < framesCalentamiento; f++) {
+            partida.frame();
+            if (partida.juego.getTarro().getVidas() <= 0) partida.reiniciar();
+        }
+
+        Resultado resultado = new Resultado();
+        resultado.dificultad = nivel.getNombre();
+        for (int f = 0; f < framesMedidos; f++) {
+            // Una partida nueva crea objetos a proposito; ese frame no cuenta
+            if (partida.juego.getTarro().getVidas() <= 0) partida.reiniciar();
+
+            long antes = reservados();
+            partida.frame();
+            long bytes = Math.max(0, reservados() - antes - costoMedicion);
+
+            resultado.frames++;
+            resultado.bytesTotales += bytes;
+            resultado.bytesMaximos = Math.max(resultado.bytesMaximos, bytes);
+            if (bytes > presupuesto) resultado.framesExcedidos++;
+        }
+        partida.destruir();
+        return resultado;
+    }
+
+    public void dispose() {
+        estadisticas.dispose();
+        fuente.dispose();
+        batch.dispose();
+        AtlasJuego.getInstance().dispose();
+        GestorAudio.getInstance().vaciarBanco();
+    }
+
+    /**
+     * Partida jugada por el bot; al perder se empieza otra, como en el juego.
+     */
+    private class Partida {
+        private final NivelDificultad nivel;
+        private final long semilla;
+        private int partidas;  // Cada partida nueva usa la semilla siguiente
+        private final Texture fondoFacil = new Texture(Gdx.files.internal(GestorRecursos.FONDO_FACIL));
+        private final Texture fondoMedio = new Texture(Gdx.files.internal(GestorRecursos.FONDO_MEDIO));
+        private final Texture fondoDificil = new Texture(Gdx.files.internal(GestorRecursos.FONDO_DIFICIL));
+        private final EntradaBot bot = new EntradaBot();
+        private final PartidaJuego juego;
+
+        Partida(NivelDificultad nivel, long semilla) {
+            this.nivel = nivel;
+            this.semilla = semilla;
+            AtlasJuego atlas = AtlasJuego.getInstance();
+            Lluvia lluvia = new Lluvia(atlas.getRegion(AtlasJuego.GOTA_BUENA), atlas.getRegion(AtlasJuego.GOTA_MALA), null);
+            juego = new PartidaJuego(batch, camara, fuente, new EntradaMuestreada(bot),
+                atlas.getRegion(AtlasJuego.TARRO), lluvia);
+            juego.setFondos(fondoFacil, fondoMedio, fondoDificil);
+            // El bot decide al final de cada paso lo que se muestrea al empezar el siguiente
+            juego.setDespuesDelPaso(new BucleFijo.Simulable() {
+                @Override
+                public void actualizar(float p) {
+                    decidir();
+                }
+            });
+        }
+
+        private void decidir() {
+            bot.decidir(juego.getTarro().getSimulacion(), juego.getLluvia().getSimulacion());
+        }
+
+        /**
+         * Empieza una partida nueva, como CangriMain.inicializarJuego.
+         */
+        void reiniciar() {
+            juego.reiniciar(nivel, semilla + partidas++);
+            decidir();
+        }
+
+        /**
+         * Un frame de CangriMain.render() con la pantalla de juego activa.
+         */
+        void frame() {
+            PerfiladorFrames perfilador = PerfiladorFrames.getInstance();
+            perfilador.iniciar(PerfiladorFrames.Fase.FRAME);
+            ScreenUtils.clear(0, 0, 0.2f, 1);
+            camara.update();
+            batch.setProjectionMatrix(camara.combined);
+            estadisticas.inicioFrame();
+            perfilador.iniciar(PerfiladorFrames.Fase.JUEGO);
+            juego.frame(DELTA_FRAME);
+            perfilador.terminar(PerfiladorFrames.Fase.JUEGO);
+            estadisticas.finFrame(PerfiladorFrames.Fase.JUEGO);
+            GestorAudio.getInstance().vaciarCola();
+            perfilador.terminar(PerfiladorFrames.Fase.FRAME);
+            perfilador.finFrame(DELTA_FRAME);
+        }
+
+        void destruir() {
+            juego.destruir();
+            fondoFacil.dispose();
+            fondoMedio.dispose();
+            fondoDificil.dispose();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long presupuesto = 256;
+        int calentamiento = 20_000;
+        int medidos = 20_000;
+        String[] dificultades = DIFICULTADES;
+        File telemetria = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            boolean conValor = i + 1 < args.length;
+            if (arg.equals("--presupuesto") && conValor) {
+                presupuesto = Long.parseLong(args[++i]);
+            } else if (arg.equals("--calentamiento") && conValor) {
+                calentamiento = Integer.parseInt(args[++i]);
+            } else if (arg.equals("--frames") && conValor) {
+                medidos = Integer.parseInt(args[++i]);
+            } else if (arg.equals("--dificultades") && conValor) {
+                dificultades = args[++i].split(",");
+            } else if (arg.equals("--telemetria") && conValor) {
+                telemetria = new File(args[++i]);
+            } else {
+                System.err.println("Uso: PruebaAsignaciones [--presupuesto bytes] [--calentamiento frames]"
+                    + " [--frames N] [--dificultades Facil,Medio,...] [--telemetria carpeta]");
+                System.exit(2);
+            }
+        }
+
+        // La prueba corre en el hilo de la aplicacion headless; main espera a que termine
+        final long presupuestoFrame = presupuesto;
+        final int framesCalentamiento = calentamiento;
+        final int framesMedidos = medidos;
+        final String[] nombres = dificultades;
+        final File carpetaTelemetria = telemetria;
+        final List<Resultado> resultados = new ArrayList<>();
+        final Throwable[] error = new Throwable[1];
+        final CountDownLatch terminada = new CountDownLatch(1);
+
+        GLVacio gl = new GLVacio();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                try {
+                    Gdx.graphics.setGL20(gl);
+                    // Con -Dlluvia.telemetria=false queda apagada, igual que en el juego
+                    if (carpetaTelemetria != null) Telemetria.getInstance().abrir(carpetaTelemetria);
+                    PruebaAsignaciones prueba = new PruebaAsignaciones();
+                    for (String nombre : nombres) {
+                        resultados.add(prueba.medir(NivelDificultad.porNombre(nombre.trim()),
+                            framesCalentamiento, framesMedidos, presupuestoFrame, 1));
+                    }
+                    prueba.dispose();
+                    Telemetria.getInstance().cerrar(1000);
+                } catch (Throwable e) {
+                    error[0] = e;
+                } finally {
+                    terminada.countDown();
+                    Gdx.app.exit();
+                }
+            }
+        }, new HeadlessApplicationConfiguration());
+        terminada.await();
+
+        if (error[0] != null) {
+            error[0].printStackTrace();
+            System.exit(1);
+        }
+        boolean dentroDelPresupuesto = true;
+        for (Resultado r : resultados) {
+            System.out.printf(Locale.ROOT, "%-9s %d frames  %.2f bytes/frame  max %d bytes  %d sobre %d  %s%n",
+                r.dificultad, r.frames, (double) r.bytesTotales / r.frames, r.bytesMaximos,
+                r.framesExcedidos, presupuesto, r.framesExcedidos == 0 ? "OK" : "FALLA");
+            dentroDelPresupuesto &= r.framesExcedidos == 0;
+        }
+        if (!dentroDelPresupuesto) {
+            System.err.println("Un frame estable reservo mas de " + presupuesto + " bytes");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
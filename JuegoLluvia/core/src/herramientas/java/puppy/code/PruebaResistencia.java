@@ -0,0 +1,435 @@
+package puppy.code;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Prueba de resistencia: juega horas simuladas de cada dificultad sin ventana,
+ * con EntradaBot moviendo el tarro y el tiempo comprimido (cada paso fijo corre
+ * tan rapido como permita la CPU).
+ *
+ * Cada cierto tiempo simulado toma una muestra: memoria usada del heap, maximo de
+ * gotas buenas, gotas malas y PowerUps vivos, y costo medio y maximo del paso.
+ * Al terminar divide cada serie en VENTANAS partes (la primera es de calentamiento)
+ * y marca las que crecen de una ventana a la siguiente durante toda la prueba:
+ * en una dificultad fija ninguna deberia crecer sin limite.
+ * Cuando el jugador pierde empieza otra partida, como en el juego.
+ *
+ * Por defecto solo corren SimulacionLluvia y SimulacionTarro. Con --completo juega
+ * la PartidaJuego del juego (Lluvia, Tarro, sonidos de GestorAudio, Telemetria y el
+ * dibujo con el HUD) dentro del backend headless con GLVacio, como PruebaAsignaciones;
+ * cada paso fijo es entonces un frame y su costo incluye el dibujo. Asi una fuga en
+ * las capas de dibujo, audio o telemetria tambien aparece en las series.
+ *
+ * Uso: ./gradlew core:resistencia [-Phoras=H] [-Pdificultades=Facil,Tormenta] [-Pcompleto]
+ * Las muestras quedan en core/build/reportes/resistencia-<dificultad>.csv.
+ */
+public class PruebaResistencia {
+
+    private static final String[] DIFICULTADES = {"Facil", "Medio", "Dificil", "Tormenta"};
+
+    // Series que se muestrean y si se revisa que no crezcan
+    private static final String[] SERIES = {
+        "heap_mb", "gotas_buenas", "gotas_malas", "powerups", "paso_medio_us", "paso_max_us"
+    };
+    private static final boolean[] REVISAR = {true, true, true, true, true, false};
+    private static final int HEAP = 0, BUENAS = 1, MALAS = 2, POWERUPS = 3, PASO_MEDIO = 4, PASO_MAX = 5;
+
+    // Deteccion de crecimiento
+    private static final int VENTANAS = 6;
+    private static final double TOLERANCIA = 0.02;           // Subida minima entre ventanas seguidas
+    private static final double CRECIMIENTO_MINIMO = 0.10;   // Subida minima entre la primera y la ultima
+
+    // Tamano de las gotas y el tarro en el juego (64x64)
+    private static final float TAMANO = 64;
+
+    /**
+     * Muestras y totales de una dificultad.
+     */
+    public static class Resultado {
+        public String dificultad;
+        public int muestras;
+        public double[][] valores;  // [serie][muestra]
+        public double segundosSimulados;
+        public long nanos;
+        public long pasos;
+        public int partidas;
+        public boolean[] crece = new boolean[SERIES.length];
+
+        public boolean estable() {
+            for (boolean c : crece) if (c) return false;
+            return true;
+        }
+    }
+
+    /**
+     * Lo que se juega en cada paso fijo: solo la simulacion o la partida completa.
+     */
+    private interface Jugada {
+        void avanzar(float paso);
+
+        void nuevaPartida();
+
+        SimulacionTarro getTarro();
+
+        SimulacionLluvia getLluvia();
+
+        void destruir();
+    }
+
+    /**
+     * Solo la logica: SimulacionLluvia con su reloj y SimulacionTarro.
+     */
+    private static class JugadaSimulacion implements Jugada {
+        private final NivelDificultad nivel;
+        private final Entrada entrada;
+        private final RelojSimulado reloj = new RelojSimulado();
+        private final SimulacionLluvia lluvia;
+        private SimulacionTarro tarro;
+
+        JugadaSimulacion(NivelDificultad nivel, Entrada entrada, long semilla) {
+            this.nivel = nivel;
+            this.entrada = entrada;
+            lluvia = new SimulacionLluvia(TAMANO, TAMANO, TAMANO, TAMANO, reloj, new RandomXS128(semilla));
+            lluvia.setNivelDificultad(nivel);
+            nuevaPartida();
+        }
+
+        @Override
+        public void avanzar(float paso) {
+            tarro.actualizar(paso);
+            reloj.avanzar(paso);
+            lluvia.actualizar(tarro, paso);
+        }
+
+        /**
+         * Empieza una partida nueva, en el mismo orden que CangriMain.inicializarJuego.
+         */
+        @Override
+        public void nuevaPartida() {
+            tarro = new SimulacionTarro(TAMANO, TAMANO, entrada);
+            tarro.crear();
+            tarro.setVidasIniciales(nivel.getVidasIniciales());
+            lluvia.crear();
+        }
+
+        @Override
+        public SimulacionTarro getTarro() {
+            return tarro;
+        }
+
+        @Override
+        public SimulacionLluvia getLluvia() {
+            return lluvia;
+        }
+
+        @Override
+        public void destruir() {
+            lluvia.destruir();
+        }
+    }
+
+    /**
+     * La PartidaJuego del juego con sus recursos; necesita el backend headless
+     * con GLVacio y correr dentro de assets/.
+     */
+    private static class JugadaCompleta implements Jugada {
+        private final NivelDificultad nivel;
+        private final long semilla;
+        private int partidas;
+        private final OrthographicCamera camara = new OrthographicCamera();
+        private final SpriteBatch batch = new SpriteBatch();
+        private final BitmapFont fuente = new BitmapFont();
+        private final Texture fondoFacil = new Texture(Gdx.files.internal(GestorRecursos.FONDO_FACIL));
+        private final Texture fondoMedio = new Texture(Gdx.files.internal(GestorRecursos.FONDO_MEDIO));
+        private final Texture fondoDificil = new Texture(Gdx.files.internal(GestorRecursos.FONDO_DIFICIL));
+        private final PartidaJuego partida;
+
+        JugadaCompleta(NivelDificultad nivel, Entrada entrada, long semilla) {
+            this.nivel = nivel;
+            this.semilla = semilla;
+            camara.setToOrtho(false, 800, 480);
+            AtlasJuego atlas = AtlasJuego.getInstance();
+            atlas.cargar();
+            // Mismo banco que CangriMain.alCargarJuego (el backend headless da sonidos mudos)
+            GestorAudio audio = GestorAudio.getInstance();
+            audio.registrarSonido(GestorAudio.GOTA, Gdx.audio.newSound(Gdx.files.internal(GestorRecursos.SONIDO_GOTA)), 0.69f, 6);
+            audio.registrarSonido(GestorAudio.DANO, Gdx.audio.newSound(Gdx.files.internal(GestorRecursos.SONIDO_DANO)), 0.69f, 2);
+
+            Lluvia lluvia = new Lluvia(atlas.getRegion(AtlasJuego.GOTA_BUENA), atlas.getRegion(AtlasJuego.GOTA_MALA),
+                Gdx.audio.newMusic(Gdx.files.internal(GestorRecursos.MUSICA_LLUVIA)));
+            partida = new PartidaJuego(batch, camara, fuente, new EntradaMuestreada(entrada),
+                atlas.getRegion(AtlasJuego.TARRO), lluvia);
+            partida.setFondos(fondoFacil, fondoMedio, fondoDificil);
+            nuevaPartida();
+        }
+
+        /**
+         * Un frame con un solo paso fijo, seguido de la cola de GestorAudio como en CangriMain.render().
+         */
+        @Override
+        public void avanzar(float paso) {
+            partida.frame(paso);
+            GestorAudio.getInstance().vaciarCola();
+        }
+
+        @Override
+        public void nuevaPartida() {
+            partida.reiniciar(nivel, semilla + partidas++);
+        }
+
+        @Override
+        public SimulacionTarro getTarro() {
+            return partida.getTarro().getSimulacion();
+        }
+
+        @Override
+        public SimulacionLluvia getLluvia() {
+            return partida.getLluvia().getSimulacion();
+        }
+
+        @Override
+        public void destruir() {
+            partida.destruir();
+            fondoFacil.dispose();
+            fondoMedio.dispose();
+            fondoDificil.dispose();
+            fuente.dispose();
+            batch.dispose();
+            AtlasJuego.getInstance().dispose();
+            GestorAudio.getInstance().vaciarBanco();
+        }
+    }
+
+    /**
+     * Juega la dificultad durante las horas simuladas indicadas.
+     */
+    public static Resultado ejecutar(NivelDificultad nivel, float horas, float segundosEntreMuestras,
+                                     long semilla, boolean recolectar, boolean completo) {
+        float paso = BucleFijo.PASO_POR_DEFECTO;
+        int pasosPorMuestra = Math.max(1, Math.round(segundosEntreMuestras / paso));
+        int muestras = Math.max(1, (int) Math.ceil(horas * 3600f / segundosEntreMuestras));
+
+        EntradaBot bot = new EntradaBot();
+        Jugada jugada = completo ? new JugadaCompleta(nivel, bot, semilla) : new JugadaSimulacion(nivel, bot, semilla);
+
+        Resultado resultado = new Resultado();
+        resultado.dificultad = nivel.getNombre();
+        resultado.muestras = muestras;
+        resultado.valores = new double[SERIES.length][muestras];
+        resultado.partidas = 1;
+        Runtime runtime = Runtime.getRuntime();
+        long inicio = System.nanoTime();
+
+        for (int m = 0; m < muestras; m++) {
+            long nanosIntervalo = 0, maxPaso = 0;
+            int maxBuenas = 0, maxMalas = 0, maxPowerUps = 0;
+            for (int s = 0; s < pasosPorMuestra; s++) {
+                bot.decidir(jugada.getTarro(), jugada.getLluvia());
+                // Solo se mide lo que el juego ejecuta en cada paso fijo
+                long t0 = System.nanoTime();
+                jugada.avanzar(paso);
+                long costo = System.nanoTime() - t0;
+
+                SimulacionLluvia lluvia = jugada.getLluvia();
+                nanosIntervalo += costo;
+                maxPaso = Math.max(maxPaso, costo);
+                maxBuenas = Math.max(maxBuenas, lluvia.getGotasBuenas().getCantidad());
+                maxMalas = Math.max(maxMalas, lluvia.getGotasMalas().getCantidad());
+                maxPowerUps = Math.max(maxPowerUps, lluvia.getPowerUps().size);
+
+                if (jugada.getTarro().getVidas() <= 0) {
+                    jugada.nuevaPartida();
+                    resultado.partidas++;
+                }
+            }
+            resultado.pasos += pasosPorMuestra;
+
+            // Con recolectar se mide lo que sigue vivo, sin la basura pendiente
+            if (recolectar) System.gc();
+            resultado.valores[HEAP][m] = (runtime.totalMemory() - runtime.freeMemory()) / (1024.0 * 1024.0);
+            resultado.valores[BUENAS][m] = maxBuenas;
+            resultado.valores[MALAS][m] = maxMalas;
+            resultado.valores[POWERUPS][m] = maxPowerUps;
+            resultado.valores[PASO_MEDIO][m] = nanosIntervalo / 1000.0 / pasosPorMuestra;
+            resultado.valores[PASO_MAX][m] = maxPaso / 1000.0;
+        }
+
+        resultado.nanos = System.nanoTime() - inicio;
+        resultado.segundosSimulados = (double) resultado.pasos * paso;
+        for (int s = 0; s < SERIES.length; s++) {
+            resultado.crece[s] = REVISAR[s] && creceSiempre(resultado.valores[s], muestras);
+        }
+        jugada.destruir();
+        return resultado;
+    }
+
+    /**
+     * Indica si la media de la serie sube de cada ventana a la siguiente
+     * (sin contar la primera) y en total sube al menos CRECIMIENTO_MINIMO.
+     */
+    static boolean creceSiempre(double[] serie, int cantidad) {
+        if (cantidad < VENTANAS * 2) return false;  // Muy pocas muestras para decidir
+        double primera = 0, anterior = 0;
+        for (int v = 1; v < VENTANAS; v++) {
+            double media = media(serie, cantidad * v / VENTANAS, cantidad * (v + 1) / VENTANAS);
+            if (v == 1) {
+                primera = media;
+            } else if (media <= anterior * (1 + TOLERANCIA)) {
+                return false;
+            }
+            anterior = media;
+        }
+        return anterior > primera * (1 + CRECIMIENTO_MINIMO);
+    }
+
+    private static double media(double[] serie, int desde, int hasta) {
+        double suma = 0;
+        for (int i = desde; i < hasta; i++) suma += serie[i];
+        return suma / (hasta - desde);
+    }
+
+    private static void escribirCsv(Resultado r, float segundosEntreMuestras, File archivo) throws IOException {
+        try (PrintWriter csv = new PrintWriter(archivo, "UTF-8")) {
+            csv.print("segundo_simulado");
+            for (String serie : SERIES) csv.print("," + serie);
+            csv.println();
+            for (int m = 0; m < r.muestras; m++) {
+                csv.print(String.format(Locale.ROOT, "%.0f", (m + 1) * (double) segundosEntreMuestras));
+                for (int s = 0; s < SERIES.length; s++) {
+                    csv.print(String.format(Locale.ROOT, ",%.3f", r.valores[s][m]));
+                }
+                csv.println();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        float horas = 2;
+        float segundosEntreMuestras = 60;
+        long semilla = 1;
+        boolean recolectar = true;
+        boolean completo = false;
+        String[] dificultades = DIFICULTADES;
+        File salida = new File("build/reportes");
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            boolean conValor = i + 1 < args.length;
+            if (arg.equals("--horas") && conValor) {
+                horas = Float.parseFloat(args[++i]);
+            } else if (arg.equals("--muestra") && conValor) {
+                segundosEntreMuestras = Float.parseFloat(args[++i]);
+            } else if (arg.equals("--semilla") && conValor) {
+                semilla = Long.parseLong(args[++i]);
+            } else if (arg.equals("--dificultades") && conValor) {
+                dificultades = args[++i].split(",");
+            } else if (arg.equals("--salida") && conValor) {
+                salida = new File(args[++i]);
+            } else if (arg.equals("--sin-gc")) {
+                recolectar = false;
+            } else if (arg.equals("--completo")) {
+                completo = true;
+            } else {
+                System.err.println("Uso: PruebaResistencia [--horas H] [--muestra segundos] [--semilla N]"
+                    + " [--dificultades Facil,Medio,...] [--salida carpeta] [--sin-gc] [--completo]");
+                System.exit(2);
+            }
+        }
+        if (!salida.isDirectory() && !salida.mkdirs()) throw new IOException("No se pudo crear " + salida);
+
+        if (!completo) {
+            if (!ejecutarTodas(dificultades, horas, segundosEntreMuestras, semilla, recolectar, false, salida)) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        // La partida completa corre en el hilo de la aplicacion headless; main espera a que termine
+        final String[] nombres = dificultades;
+        final float horasSimuladas = horas;
+        final float intervalo = segundosEntreMuestras;
+        final long semillaInicial = semilla;
+        final boolean conGc = recolectar;
+        final File carpeta = salida;
+        final boolean[] estables = new boolean[1];
+        final Throwable[] error = new Throwable[1];
+        final CountDownLatch terminada = new CountDownLatch(1);
+
+        GLVacio gl = new GLVacio();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                try {
+                    Gdx.graphics.setGL20(gl);
+                    // Con -Dlluvia.telemetria=false queda apagada, igual que en el juego
+                    Telemetria.getInstance().abrir(new File(carpeta, "telemetria"));
+                    estables[0] = ejecutarTodas(nombres, horasSimuladas, intervalo, semillaInicial, conGc, true, carpeta);
+                    Telemetria.getInstance().cerrar(1000);
+                } catch (Throwable e) {
+                    error[0] = e;
+                } finally {
+                    terminada.countDown();
+                    Gdx.app.exit();
+                }
+            }
+        }, new HeadlessApplicationConfiguration());
+        terminada.await();
+
+        if (error[0] != null) {
+            error[0].printStackTrace();
+            System.exit(1);
+        }
+        System.exit(estables[0] ? 0 : 1);
+    }
+
+    /**
+     * Juega cada dificultad, escribe su CSV y muestra el resumen.
+     * Devuelve false si alguna serie crece.
+     */
+    private static boolean ejecutarTodas(String[] dificultades, float horas, float segundosEntreMuestras,
+                                         long semilla, boolean recolectar, boolean completo, File salida)
+            throws IOException {
+        boolean todasEstables = true;
+        for (String nombre : dificultades) {
+            Resultado r = ejecutar(NivelDificultad.porNombre(nombre.trim()), horas, segundosEntreMuestras,
+                semilla, recolectar, completo);
+            File csv = new File(salida, "resistencia-" + r.dificultad + ".csv");
+            escribirCsv(r, segundosEntreMuestras, csv);
+
+            double segundosReales = r.nanos / 1_000_000_000.0;
+            System.out.printf(Locale.ROOT, "%s  %.1f h simuladas en %.1f s (x%.0f)  %d pasos  %d partidas%n",
+                r.dificultad, r.segundosSimulados / 3600, segundosReales,
+                r.segundosSimulados / segundosReales, r.pasos, r.partidas);
+            int ultima = r.muestras - 1;
+            for (int s = 0; s < SERIES.length; s++) {
+                System.out.printf(Locale.ROOT, "  %-14s inicio %10.3f  final %10.3f  max %10.3f  %s%n",
+                    SERIES[s], r.valores[s][0], r.valores[s][ultima], maximo(r.valores[s], r.muestras),
+                    r.crece[s] ? "CRECE" : "");
+            }
+            System.out.println("  muestras en " + csv.getPath());
+            todasEstables &= r.estable();
+        }
+        return todasEstables;
+    }
+
+    private static double maximo(double[] serie, int cantidad) {
+        double max = serie[0];
+        for (int i = 1; i < cantidad; i++) max = Math.max(max, serie[i]);
+        return max;
+    }
+}
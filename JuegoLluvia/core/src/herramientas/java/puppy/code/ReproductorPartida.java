@@ -0,0 +1,165 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vuelve a ejecutar una partida grabada sin ventana ni sonido, tan rapido como permita la CPU.
+ *
+ * Arma SimulacionTarro y SimulacionLluvia con la misma semilla, dificultad y
+ * dimensiones que en el juego, y en cada paso usa la entrada grabada. Despues de
+ * cada paso compara los puntos y las vidas con las marcas de la grabacion:
+ * si alguna no coincide la repeticion dejo de ser fiel a la partida original.
+ *
+ * Uso: ./gradlew core:reproducir [-Pgrabaciones=ruta] [-Prepeticiones=N]
+ * (ruta puede ser un archivo .rep o una carpeta con varios; sin ruta se usan
+ * las grabaciones de CarpetaDatos).
+ */
+public class ReproductorPartida {
+
+    /**
+     * Resultado de reproducir una grabacion.
+     */
+    public static class Resultado {
+        public int pasos;
+        public long nanos;
+        public int marcasComprobadas;
+        public int pasoDivergente = -1;  // Primer paso que no coincide, o -1 si todo coincide
+        public int puntos;
+        public int vidas;
+
+        public boolean coincide() {
+            return pasoDivergente < 0;
+        }
+    }
+
+    /**
+     * Reproduce la grabacion completa y compara su marcador paso a paso.
+     */
+    public static Resultado reproducir(GrabacionPartida grabacion) {
+        RelojSimulado reloj = new RelojSimulado();
+        SimulacionLluvia lluvia = new SimulacionLluvia(
+            grabacion.getAnchoGotaBuena(), grabacion.getAltoGotaBuena(),
+            grabacion.getAnchoGotaMala(), grabacion.getAltoGotaMala(),
+            reloj, new RandomXS128());
+        EntradaReproducida entrada = new EntradaReproducida(grabacion);
+        SimulacionTarro tarro = new SimulacionTarro(grabacion.getAnchoTarro(), grabacion.getAltoTarro(), entrada);
+
+        // Mismo orden que CangriMain.inicializarJuego
+        tarro.crear();
+        tarro.setVidasIniciales(grabacion.getVidasIniciales());
+        lluvia.setNivelDificultad(NivelDificultad.porNombre(grabacion.getDificultad()));
+        lluvia.setSemilla(grabacion.getSemilla());
+        reloj.reiniciar();
+        lluvia.crear();
+
+        Resultado resultado = new Resultado();
+        float paso = grabacion.getPaso();
+        int marca = 0;
+        int puntos = tarro.getPuntos();
+        int vidas = tarro.getVidas();
+        long inicio = System.nanoTime();
+
+        for (int i = 1; i <= grabacion.getPasos(); i++) {
+            entrada.avanzar();
+            // Mismo orden que el paso fijo del juego
+            tarro.actualizar(paso);
+            reloj.avanzar(paso);
+            lluvia.actualizar(tarro, paso);
+
+            if (tarro.getPuntos() == puntos && tarro.getVidas() == vidas) {
+                if (marca < grabacion.getCantidadMarcas() && grabacion.getPasoMarca(marca) == i) {
+                    resultado.pasoDivergente = i;  // La partida original cambio aca y esta no
+                    break;
+                }
+                continue;
+            }
+            puntos = tarro.getPuntos();
+            vidas = tarro.getVidas();
+            if (marca >= grabacion.getCantidadMarcas() || grabacion.getPasoMarca(marca) != i
+                    || grabacion.getPuntosMarca(marca) != puntos || grabacion.getVidasMarca(marca) != vidas) {
+                resultado.pasoDivergente = i;
+                break;
+            }
+            marca++;
+        }
+
+        resultado.nanos = System.nanoTime() - inicio;
+        resultado.pasos = resultado.coincide() ? grabacion.getPasos() : resultado.pasoDivergente;
+        resultado.marcasComprobadas = marca;
+        resultado.puntos = tarro.getPuntos();
+        resultado.vidas = tarro.getVidas();
+        lluvia.destruir();
+        return resultado;
+    }
+
+    public static GrabacionPartida cargar(File archivo) throws IOException {
+        try (InputStream origen = new BufferedInputStream(new FileInputStream(archivo))) {
+            return GrabacionPartida.cargar(origen);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int repeticiones = 1;
+        List<File> rutas = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--repeticiones") && i + 1 < args.length) {
+                repeticiones = Math.max(1, Integer.parseInt(args[++i]));
+            } else {
+                rutas.add(new File(args[i]));
+            }
+        }
+        if (rutas.isEmpty()) rutas.add(CarpetaDatos.archivoSinGdx("grabaciones"));
+
+        List<File> archivos = new ArrayList<>();
+        for (File ruta : rutas) agregarArchivos(ruta, archivos);
+        if (archivos.isEmpty()) {
+            System.err.println("No hay grabaciones (.rep) en " + rutas);
+            System.err.println("Uso: ReproductorPartida [--repeticiones N] [archivo.rep | carpeta]...");
+            System.exit(2);
+        }
+
+        boolean todasCoinciden = true;
+        for (File archivo : archivos) {
+            GrabacionPartida grabacion = cargar(archivo);
+            long pasosTotales = 0, nanosTotales = 0;
+            Resultado resultado = null;
+            for (int r = 0; r < repeticiones; r++) {
+                resultado = reproducir(grabacion);
+                pasosTotales += resultado.pasos;
+                nanosTotales += resultado.nanos;
+                if (!resultado.coincide()) break;
+            }
+
+            double segundos = nanosTotales / 1_000_000_000.0;
+            System.out.printf("%s  %s  %d pasos  %.1f ms  %.0f pasos/s  puntos %d  vidas %d  %s%n",
+                archivo.getName(), grabacion.getDificultad(), grabacion.getPasos(),
+                nanosTotales / 1_000_000.0, segundos > 0 ? pasosTotales / segundos : 0,
+                resultado.puntos, resultado.vidas,
+                resultado.coincide()
+                    ? "OK (" + resultado.marcasComprobadas + " marcas)"
+                    : "DIVERGE en el paso " + resultado.pasoDivergente);
+            todasCoinciden &= resultado.coincide();
+        }
+        if (!todasCoinciden) System.exit(1);
+    }
+
+    private static void agregarArchivos(File ruta, List<File> archivos) {
+        if (ruta.isFile()) {
+            archivos.add(ruta);
+            return;
+        }
+        File[] hijos = ruta.listFiles((carpeta, nombre) -> nombre.endsWith(".rep"));
+        if (hijos == null) return;
+        Arrays.sort(hijos);
+        archivos.addAll(Arrays.asList(hijos));
+    }
+}
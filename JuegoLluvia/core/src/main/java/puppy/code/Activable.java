@@ -5,5 +5,5 @@ package puppy.code;
  * Los PowerUps implementan esta interfaz para definir su efecto.
  */
 public interface Activable {
-    void activar(Tarro tarro);
+    void activar(SimulacionTarro tarro);
 }
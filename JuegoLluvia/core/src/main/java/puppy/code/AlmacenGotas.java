@@ -0,0 +1,148 @@
+package puppy.code;
+
+/**
+ * Almacen de gotas guardadas como columnas de floats (estructura de arreglos).
+ * En lugar de un objeto Rectangle por gota, cada propiedad vive en su propio
+ * arreglo primitivo, asi las estrategias de movimiento recorren todas las
+ * gotas en un solo ciclo sin saltar entre objetos del heap.
+ *
+ * Todas las gotas de un almacen son del mismo tipo (buenas o malas), de modo
+ * que el almacen completo se mueve con una sola estrategia.
+ * Al eliminar una gota, la ultima ocupa su lugar (el orden no importa).
+ */
+public class AlmacenGotas {
+
+    public static final byte TIPO_BUENA = 0;
+    public static final byte TIPO_MALA = 1;
+
+    private final byte tipo;
+
+    // Columnas: la gota i esta formada por x[i], y[i], ancho[i] y alto[i]
+    private float[] x;
+    private float[] y;
+    private float[] yAnterior;  // y del paso anterior, para interpolar el dibujo
+    private float[] ancho;
+    private float[] alto;
+    private int cantidad;
+
+    // Contadores de reutilizacion de espacios
+    private long aciertos;  // La gota ocupo un espacio ya reservado
+    private long fallos;    // Hubo que agrandar los arreglos
+
+    public AlmacenGotas(byte tipo, int capacidadInicial) {
+        this.tipo = tipo;
+        int capacidad = Math.max(1, capacidadInicial);
+        x = new float[capacidad];
+        y = new float[capacidad];
+        yAnterior = new float[capacidad];
+        ancho = new float[capacidad];
+        alto = new float[capacidad];
+    }
+
+    /**
+     * Agrega una gota al final del almacen y devuelve su indice.
+     */
+    public int agregar(float gx, float gy, float gAncho, float gAlto) {
+        if (cantidad == x.length) {
+            agrandar(x.length * 2);
+            fallos++;
+        } else {
+            aciertos++;
+        }
+        int i = cantidad++;
+        x[i] = gx;
+        y[i] = gy;
+        yAnterior[i] = gy;
+        ancho[i] = gAncho;
+        alto[i] = gAlto;
+        return i;
+    }
+
+    /**
+     * Elimina la gota del indice indicado moviendo la ultima a su lugar en O(1).
+     * Si se recorre el almacen eliminando, hay que ir de atras hacia adelante.
+     */
+    public void eliminar(int i) {
+        int ultima = --cantidad;
+        if (i != ultima) {
+            x[i] = x[ultima];
+            y[i] = y[ultima];
+            yAnterior[i] = yAnterior[ultima];
+            ancho[i] = ancho[ultima];
+            alto[i] = alto[ultima];
+        }
+    }
+
+    /**
+     * Guarda la posicion actual como posicion anterior, antes de mover las gotas.
+     */
+    public void guardarPosiciones() {
+        System.arraycopy(y, 0, yAnterior, 0, cantidad);
+    }
+
+    /**
+     * Vacia el almacen conservando la memoria reservada.
+     */
+    public void limpiar() {
+        cantidad = 0;
+    }
+
+    private void agrandar(int capacidad) {
+        x = copiar(x, capacidad);
+        y = copiar(y, capacidad);
+        yAnterior = copiar(yAnterior, capacidad);
+        ancho = copiar(ancho, capacidad);
+        alto = copiar(alto, capacidad);
+    }
+
+    private float[] copiar(float[] origen, int capacidad) {
+        float[] nuevo = new float[capacidad];
+        System.arraycopy(origen, 0, nuevo, 0, cantidad);
+        return nuevo;
+    }
+
+    /**
+     * Indica si la gota i se superpone con el rectangulo dado.
+     * Misma prueba que Rectangle.overlaps.
+     */
+    public boolean colisiona(int i, float rx, float ry, float rAncho, float rAlto) {
+        return x[i] < rx + rAncho && x[i] + ancho[i] > rx
+            && y[i] < ry + rAlto && y[i] + alto[i] > ry;
+    }
+
+    public byte getTipo() {
+        return tipo;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public float[] getX() {
+        return x;
+    }
+
+    public float[] getY() {
+        return y;
+    }
+
+    public float[] getYAnterior() {
+        return yAnterior;
+    }
+
+    public float[] getAncho() {
+        return ancho;
+    }
+
+    public float[] getAlto() {
+        return alto;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+}
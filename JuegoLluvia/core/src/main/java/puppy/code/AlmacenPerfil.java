@@ -0,0 +1,301 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Perfil del jugador (volumen, mejor puntaje y otras preferencias) guardado en disco.
+ *
+ * Los valores viven en memoria y leerlos o cambiarlos no toca el disco: cada cambio
+ * solo marca el perfil como pendiente y avisa a un hilo escritor. Ese hilo espera
+ * DEMORA_MS para juntar varios cambios seguidos (por ejemplo al arrastrar el slider
+ * de volumen) y escribe todo de una vez en un archivo temporal que despues
+ * reemplaza al anterior con un movimiento atomico. Si el juego se corta a mitad de
+ * una escritura queda el perfil anterior completo; la ultima linea guarda un CRC32
+ * para descartar un archivo danado.
+ * Solo existe una instancia de esta clase (patron Singleton).
+ */
+public class AlmacenPerfil {
+
+    // Claves del perfil
+    public static final String VOLUMEN = "volumen";
+    public static final String MEJOR_PUNTAJE = "mejorPuntaje";
+
+    // Tiempo que se esperan mas cambios antes de escribir
+    private static final long DEMORA_MS = 500;
+    // Espera antes de reintentar si la escritura fallo
+    private static final long REINTENTO_MS = 5000;
+
+    private static final String CABECERA = "# Perfil de Juego Lluvia";
+    private static final String CLAVE_CRC = "crc";
+
+    private static AlmacenPerfil instancia;
+
+    private final Object cerrojo = new Object();
+    private final Map<String, String> valores = new HashMap<>();
+    private File archivo;
+    private Thread escritor;
+    private long version;  // Sube con cada cambio
+    private long versionEscrita;
+    private boolean cerrando;
+    private int escrituras;
+
+    private AlmacenPerfil() {
+        // Constructor privado para evitar que se creen mas instancias
+    }
+
+    /**
+     * Obtiene la unica instancia del perfil.
+     */
+    public static synchronized AlmacenPerfil getInstance() {
+        if (instancia == null) {
+            instancia = new AlmacenPerfil();
+        }
+        return instancia;
+    }
+
+    /**
+     * Lee el perfil del archivo (si existe y esta sano) y arranca el hilo escritor.
+     * Se llama una vez al iniciar el juego.
+     */
+    public void abrir(File archivo) {
+        synchronized (cerrojo) {
+            if (escritor != null) return;
+            this.archivo = archivo;
+            valores.clear();
+            leer();
+            version = versionEscrita = 0;
+            cerrando = false;
+            escritor = new Thread(this::escribirPendientes, "AlmacenPerfil-escritor");
+            escritor.setDaemon(true);
+            escritor.start();
+        }
+    }
+
+    private void leer() {
+        if (!archivo.isFile()) return;
+        try {
+            String contenido = new String(Files.readAllBytes(archivo.toPath()), StandardCharsets.UTF_8);
+            int ultimaLinea = contenido.lastIndexOf("\n" + CLAVE_CRC + "=") + 1;
+            if (ultimaLinea == 0) throw new IOException("falta el CRC");
+            CRC32 crc = new CRC32();
+            crc.update(contenido.substring(0, ultimaLinea).getBytes(StandardCharsets.UTF_8));
+            long esperado = Long.parseLong(contenido.substring(ultimaLinea + CLAVE_CRC.length() + 1).trim(), 16);
+            if (crc.getValue() != esperado) throw new IOException("el CRC no coincide");
+
+            for (String linea : contenido.substring(0, ultimaLinea).split("\n")) {
+                int igual = linea.indexOf('=');
+                if (linea.startsWith("#") || igual < 0) continue;
+                valores.put(linea.substring(0, igual), linea.substring(igual + 1));
+            }
+        } catch (IOException | NumberFormatException e) {
+            valores.clear();
+            error("Perfil ilegible, se usan los valores por defecto: " + archivo, e);
+        }
+    }
+
+    // ============================================================
+    // VALORES
+    // ============================================================
+
+    public int getEntero(String clave, int porDefecto) {
+        String valor = getTexto(clave, null);
+        if (valor == null) return porDefecto;
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            return porDefecto;
+        }
+    }
+
+    public float getDecimal(String clave, float porDefecto) {
+        String valor = getTexto(clave, null);
+        if (valor == null) return porDefecto;
+        try {
+            return Float.parseFloat(valor);
+        } catch (NumberFormatException e) {
+            return porDefecto;
+        }
+    }
+
+    public String getTexto(String clave, String porDefecto) {
+        synchronized (cerrojo) {
+            String valor = valores.get(clave);
+            return valor != null ? valor : porDefecto;
+        }
+    }
+
+    public void setEntero(String clave, int valor) {
+        setTexto(clave, Integer.toString(valor));
+    }
+
+    public void setDecimal(String clave, float valor) {
+        setTexto(clave, Float.toString(valor));
+    }
+
+    /**
+     * Cambia un valor en memoria y programa la escritura. No bloquea por disco.
+     */
+    public void setTexto(String clave, String valor) {
+        if (clave.equals(CLAVE_CRC) || clave.startsWith("#") || clave.indexOf('=') >= 0
+                || clave.indexOf('\n') >= 0 || valor.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Clave o valor invalido en el perfil: " + clave);
+        }
+        synchronized (cerrojo) {
+            if (valor.equals(valores.get(clave))) return;
+            valores.put(clave, valor);
+            version++;
+            cerrojo.notifyAll();
+        }
+    }
+
+    /**
+     * Veces que se escribio el perfil en disco en esta sesion.
+     */
+    public int getEscrituras() {
+        synchronized (cerrojo) {
+            return escrituras;
+        }
+    }
+
+    // ============================================================
+    // ESCRITURA
+    // ============================================================
+
+    /**
+     * Bucle del hilo escritor: espera cambios, los junta durante DEMORA_MS y los escribe.
+     */
+    private void escribirPendientes() {
+        while (true) {
+            String contenido;
+            long versionContenido;
+            synchronized (cerrojo) {
+                try {
+                    while (version == versionEscrita && !cerrando) cerrojo.wait();
+                    // Juntar los cambios que lleguen durante la demora (al cerrar no se espera)
+                    long limite = System.currentTimeMillis() + DEMORA_MS;
+                    long restante;
+                    while (!cerrando && (restante = limite - System.currentTimeMillis()) > 0) {
+                        cerrojo.wait(restante);
+                    }
+                } catch (InterruptedException e) {
+                    cerrando = true;
+                }
+                if (version == versionEscrita) return;  // Cerrando sin nada pendiente
+                contenido = serializar();
+                versionContenido = version;
+            }
+
+            boolean escrito = escribir(contenido);
+            synchronized (cerrojo) {
+                if (escrito) {
+                    versionEscrita = Math.max(versionEscrita, versionContenido);
+                    escrituras++;
+                } else if (cerrando) {
+                    return;
+                } else {
+                    try {
+                        cerrojo.wait(REINTENTO_MS);
+                    } catch (InterruptedException e) {
+                        cerrando = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Arma el archivo con las claves ordenadas y el CRC32 al final. Se llama con el cerrojo tomado.
+     */
+    private String serializar() {
+        StringBuilder texto = new StringBuilder(256);
+        texto.append(CABECERA).append('\n');
+        for (Map.Entry<String, String> e : new TreeMap<>(valores).entrySet()) {
+            texto.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+        }
+        CRC32 crc = new CRC32();
+        crc.update(texto.toString().getBytes(StandardCharsets.UTF_8));
+        texto.append(CLAVE_CRC).append('=').append(Long.toHexString(crc.getValue())).append('\n');
+        return texto.toString();
+    }
+
+    /**
+     * Escribe en un temporal, lo fuerza a disco y lo mueve sobre el perfil.
+     */
+    private boolean escribir(String contenido) {
+        File temporal = new File(archivo.getPath() + ".tmp");
+        try {
+            File carpeta = archivo.getAbsoluteFile().getParentFile();
+            if (carpeta != null && !carpeta.isDirectory() && !carpeta.mkdirs()) {
+                throw new IOException("No se pudo crear " + carpeta);
+            }
+            try (FileOutputStream salida = new FileOutputStream(temporal)) {
+                salida.write(contenido.getBytes(StandardCharsets.UTF_8));
+                salida.getFD().sync();
+            }
+            reemplazar(temporal, archivo);
+            return true;
+        } catch (IOException e) {
+            error("No se pudo guardar el perfil en " + archivo, e);
+            return false;
+        }
+    }
+
+    /**
+     * Mueve un archivo ya escrito y forzado a disco sobre el destino, de forma atomica
+     * si el sistema de archivos lo permite. Tambien lo usa TablaPuntajes al compactar.
+     */
+    static void reemplazar(File temporal, File destino) throws IOException {
+        try {
+            Files.move(temporal.toPath(), destino.toPath(),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Escribe lo pendiente y detiene el hilo escritor, esperando como maximo
+     * el tiempo indicado. Devuelve false si quedo algo sin guardar.
+     */
+    public boolean cerrar(long maxMs) {
+        Thread hilo;
+        synchronized (cerrojo) {
+            if (escritor == null) return true;
+            cerrando = true;
+            cerrojo.notifyAll();
+            hilo = escritor;
+        }
+        try {
+            hilo.join(maxMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (cerrojo) {
+            escritor = null;
+            boolean guardado = version == versionEscrita;
+            if (!guardado) error("El perfil no termino de guardarse en " + maxMs + " ms", null);
+            return guardado;
+        }
+    }
+
+    private static void error(String mensaje, Exception e) {
+        if (Gdx.app != null) {
+            if (e != null) Gdx.app.error("AlmacenPerfil", mensaje, e);
+            else Gdx.app.error("AlmacenPerfil", mensaje);
+        } else {
+            System.err.println("AlmacenPerfil: " + mensaje + (e != null ? " (" + e + ")" : ""));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Da acceso a los sprites del juego (tarro, gotas y PowerUps) como regiones
+ * de un unico TextureAtlas generado por la tarea de Gradle packTextures.
+ * Como todos los sprites comparten la misma textura, SpriteBatch puede
+ * dibujar un frame completo del juego sin hacer flush entre entidades.
+ *
+ * El atlas se carga con el AssetManager de GestorRecursos (encolar y luego cargar).
+ * Si no existe (por ejemplo al ejecutar desde el IDE sin pasar por Gradle),
+ * cada sprite se carga como textura suelta desde RegistroTexturas.
+ * Solo existe una instancia de esta clase (patron Singleton).
+ */
+public class AtlasJuego {
+
+    public static final String RUTA_ATLAS = "atlas/juego.atlas";
+
+    // Nombres de las regiones (el nombre del archivo sin extension)
+    public static final String TARRO = "bucket";
+    public static final String GOTA_BUENA = "drop";
+    public static final String GOTA_MALA = "dropBad";
+    public static final String CORAZON = "heart";
+    public static final String ESTRELLA = "star";
+
+    private static final String[] SPRITES = { TARRO, GOTA_BUENA, GOTA_MALA, CORAZON, ESTRELLA };
+
+    private static AtlasJuego instancia;
+
+    private TextureAtlas atlas;
+    private AssetManager manager;  // Dueno del atlas cuando se cargo en segundo plano
+    private final ObjectMap<String, TextureRegion> regiones = new ObjectMap<>();
+
+    private AtlasJuego() {
+        // Constructor privado para evitar que se creen mas instancias
+    }
+
+    /**
+     * Obtiene la unica instancia del atlas del juego.
+     */
+    public static synchronized AtlasJuego getInstance() {
+        if (instancia == null) {
+            instancia = new AtlasJuego();
+        }
+        return instancia;
+    }
+
+    /**
+     * Encola el atlas en el AssetManager si existe. Si no, cargar() usara texturas sueltas.
+     */
+    public void encolar(AssetManager manager) {
+        if (Gdx.files.internal(RUTA_ATLAS).exists()) {
+            this.manager = manager;
+            manager.load(RUTA_ATLAS, TextureAtlas.class);
+        }
+    }
+
+    /**
+     * Arma las regiones del atlas. Si se encolo, el AssetManager ya debe haberlo cargado;
+     * si no, carga el atlas (o las texturas sueltas) en el momento.
+     * Llamadas repetidas no hacen nada.
+     */
+    public void cargar() {
+        if (regiones.size > 0) return;
+
+        FileHandle archivo = Gdx.files.internal(RUTA_ATLAS);
+        if (manager != null) {
+            atlas = manager.get(RUTA_ATLAS, TextureAtlas.class);
+        } else if (archivo.exists()) {
+            atlas = new TextureAtlas(archivo);
+        }
+        if (atlas != null) {
+            for (String nombre : SPRITES) {
+                regiones.put(nombre, atlas.findRegion(nombre));
+            }
+        } else {
+            Gdx.app.log("AtlasJuego", "No se encontro " + RUTA_ATLAS + ", se usan texturas sueltas");
+            for (String nombre : SPRITES) {
+                regiones.put(nombre, new TextureRegion(RegistroTexturas.getInstance().obtener(nombre + ".png")));
+            }
+        }
+    }
+
+    /**
+     * Devuelve la region del sprite indicado, o null si el atlas aun no se cargo.
+     */
+    public TextureRegion getRegion(String nombre) {
+        return regiones.get(nombre);
+    }
+
+    /**
+     * Libera el atlas. Si lo cargo el AssetManager, lo libera el; las texturas
+     * sueltas las libera RegistroTexturas.
+     */
+    public void dispose() {
+        if (atlas != null) {
+            if (manager == null) atlas.dispose();
+            atlas = null;
+            manager = null;
+        } else {
+            for (String nombre : SPRITES) {
+                RegistroTexturas.getInstance().liberar(nombre + ".png");
+            }
+        }
+        regiones.clear();
+    }
+}
@@ -0,0 +1,105 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Fase amplia (broadphase) de colisiones contra el tarro por su franja horizontal.
+ *
+ * El tarro vive en una franja fija cerca de y=20, asi que casi todas las gotas
+ * estan por encima de ella. Un solo recorrido por las columnas del almacen descarta
+ * por y las que no tocan la franja, y solo las que quedan pasan a la prueba exacta
+ * en x. No se guarda ningun indice entre pasos: ordenar las gotas por altura en
+ * cada paso costaba mas que las pruebas que ahorraba (ver ColisionBenchmark).
+ *
+ * Los contadores muestran cuantas entidades se revisaron y cuantas llegaron a la
+ * prueba exacta, para ver la proporcion de descarte con muchas entidades.
+ */
+public class BroadphaseFranja {
+
+    // Gotas que colisionaron en la ultima consulta, de mayor a menor indice
+    private int[] impactos = new int[16];
+    private int cantidadImpactos;
+
+    // Contadores acumulados
+    private long entidades;
+    private long pruebas;
+    private long colisiones;
+
+    /**
+     * Busca las gotas del almacen que se superponen con el rectangulo dado.
+     * Devuelve la cantidad de impactos; los indices quedan en getImpactos()
+     * ordenados de mayor a menor, listos para eliminarlos sin invalidar los demas.
+     */
+    public int buscarColisiones(AlmacenGotas gotas, float rx, float ry, float rAncho, float rAlto) {
+        int cantidad = gotas.getCantidad();
+        float[] x = gotas.getX();
+        float[] y = gotas.getY();
+        float[] ancho = gotas.getAncho();
+        float[] alto = gotas.getAlto();
+        float techo = ry + rAlto;
+        float derecha = rx + rAncho;
+        int candidatas = 0;
+        cantidadImpactos = 0;
+
+        // De atras hacia adelante, asi los impactos quedan de mayor a menor indice
+        for (int i = cantidad - 1; i >= 0; i--) {
+            // Una gota toca la franja del tarro si su y esta entre ry - alto y ry + rAlto
+            if (y[i] >= techo || y[i] + alto[i] <= ry) continue;
+            candidatas++;
+            if (x[i] < derecha && x[i] + ancho[i] > rx) agregarImpacto(i);
+        }
+
+        entidades += cantidad;
+        pruebas += candidatas;
+        colisiones += cantidadImpactos;
+        return cantidadImpactos;
+    }
+
+    /**
+     * Misma prueba para entidades sueltas (PowerUps): primero la franja, despues x.
+     */
+    public boolean colisiona(Rectangle r, Rectangle tarro) {
+        entidades++;
+        if (r.y >= tarro.y + tarro.height || r.y + r.height <= tarro.y) return false;
+        pruebas++;
+        if (r.x < tarro.x + tarro.width && r.x + r.width > tarro.x) {
+            colisiones++;
+            return true;
+        }
+        return false;
+    }
+
+    private void agregarImpacto(int indice) {
+        if (cantidadImpactos == impactos.length) {
+            int[] nuevo = new int[impactos.length * 2];
+            System.arraycopy(impactos, 0, nuevo, 0, cantidadImpactos);
+            impactos = nuevo;
+        }
+        impactos[cantidadImpactos++] = indice;
+    }
+
+    public int[] getImpactos() {
+        return impactos;
+    }
+
+    /**
+     * Entidades revisadas por la fase amplia (acumulado).
+     */
+    public long getEntidades() {
+        return entidades;
+    }
+
+    /**
+     * Entidades que pasaron la franja y llegaron a la prueba exacta en x (acumulado).
+     */
+    public long getPruebas() {
+        return pruebas;
+    }
+
+    /**
+     * Colisiones encontradas (acumulado).
+     */
+    public long getColisiones() {
+        return colisiones;
+    }
+}
@@ -0,0 +1,115 @@
+package puppy.code;
+
+/**
+ * Avanza la simulacion del juego en pasos de tiempo fijos, separados del dibujo.
+ *
+ * Cada frame se suma el tiempo real transcurrido a un acumulador y se ejecutan
+ * tantos pasos fijos como quepan en el. Asi la fisica es la misma a 30, 60 o
+ * 144 FPS y un tiron del recolector de basura no cambia el resultado.
+ * Lo que sobra del acumulador (alfa, entre 0 y 1) se usa para interpolar
+ * las posiciones al dibujar.
+ */
+public class BucleFijo {
+
+    /**
+     * Paso de simulacion por defecto: 120 actualizaciones por segundo.
+     */
+    public static final float PASO_POR_DEFECTO = 1f / 120f;
+
+    /**
+     * Maximo de pasos por frame por defecto. Si un frame se atrasa mas que esto,
+     * el tiempo sobrante se descarta para no entrar en una espiral de atraso.
+     */
+    public static final int MAX_PASOS_POR_DEFECTO = 8;
+
+    /**
+     * Logica que se ejecuta una vez por cada paso fijo.
+     */
+    public interface Simulable {
+        void actualizar(float paso);
+    }
+
+    private final float paso;
+    private final int maxPasos;
+
+    private float acumulador;
+    private float alfa;
+
+    // Medicion del costo de la simulacion en el ultimo frame
+    private int pasosUltimoFrame;
+    private long nanosUltimoFrame;
+    private long pasosDescartados;
+
+    public BucleFijo() {
+        this(PASO_POR_DEFECTO, MAX_PASOS_POR_DEFECTO);
+    }
+
+    public BucleFijo(float paso, int maxPasos) {
+        this.paso = paso;
+        this.maxPasos = maxPasos;
+    }
+
+    /**
+     * Consume el tiempo del frame ejecutando pasos fijos de la simulacion.
+     * Devuelve la cantidad de pasos ejecutados.
+     */
+    public int avanzar(float deltaFrame, Simulable simulacion) {
+        long inicio = System.nanoTime();
+        acumulador += Math.max(0f, deltaFrame);
+
+        int pasos = 0;
+        while (acumulador >= paso && pasos < maxPasos) {
+            simulacion.actualizar(paso);
+            acumulador -= paso;
+            pasos++;
+        }
+
+        // Limite de pasos alcanzado: descartar el atraso en vez de acumularlo
+        if (acumulador >= paso) {
+            pasosDescartados += (long) (acumulador / paso);
+            acumulador %= paso;
+        }
+
+        alfa = acumulador / paso;
+        pasosUltimoFrame = pasos;
+        nanosUltimoFrame = System.nanoTime() - inicio;
+        return pasos;
+    }
+
+    /**
+     * Vacia el acumulador, por ejemplo al empezar una partida nueva.
+     */
+    public void reiniciar() {
+        acumulador = 0f;
+        alfa = 0f;
+    }
+
+    /**
+     * Fraccion del siguiente paso ya transcurrida (0 a 1), para interpolar el dibujo.
+     */
+    public float getAlfa() {
+        return alfa;
+    }
+
+    public float getPaso() {
+        return paso;
+    }
+
+    public int getPasosUltimoFrame() {
+        return pasosUltimoFrame;
+    }
+
+    /**
+     * Tiempo que tomo la simulacion en el ultimo frame, sin contar el dibujo.
+     */
+    public long getNanosUltimoFrame() {
+        return nanosUltimoFrame;
+    }
+
+    /**
+     * Pasos que no se simularon por superar el limite de pasos por frame.
+     */
+    public long getPasosDescartados() {
+        return pasosDescartados;
+    }
+}
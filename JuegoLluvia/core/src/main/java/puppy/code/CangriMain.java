@@ -3,13 +3,10 @@ package puppy.code;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.audio.Music;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
@@ -22,8 +19,17 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.CharArray;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Clase principal del juego Lluvia.
@@ -33,67 +39,92 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
  */
 public class CangriMain extends ApplicationAdapter {
 
-    /**
-     * Estados del juego que determinan que pantalla se muestra.
-     */
-    private enum EstadoPantalla { 
-        MENU,
-        SELECCION_DIFICULTAD,
-        OPCIONES,
-        TUTORIAL,
-        JUEGO,
-        PAUSA,
-        GAME_OVER
-    }
-    
-    private EstadoPantalla estado = EstadoPantalla.MENU;
+    // Pila de pantallas: solo la de arriba se actualiza, se dibuja y recibe la entrada
+    private final GestorPantallas pantallas = new GestorPantallas();
+    private Pantalla pantallaCarga, pantallaTutorial, pantallaJuego;
+    private Pantalla pantallaMenu, pantallaDificultad, pantallaOpciones, pantallaPausa, pantallaGameOver;
+    private Pantalla pantallaTrasCarga;  // A donde ir cuando termine la carga (null = menu principal)
+
+    // Colores de los textos del menu principal (constantes para no crearlos en cada frame)
+    private static final Color COLOR_SOMBRA_TITULO = new Color(0, 0, 0, 0.8f);
+    private static final Color COLOR_TITULO = new Color(0.4f, 0.9f, 1f, 1f); // Cyan brillante
+    private static final Color COLOR_SOMBRA_SUBTITULO = new Color(0, 0, 0, 0.7f);
+    private static final Color COLOR_SUBTITULO = new Color(1f, 1f, 0.95f, 1f); // Blanco ligeramente amarillento
+    private static final Color COLOR_SOMBRA_ATAJOS = new Color(0, 0, 0, 0.6f);
+    private static final Color COLOR_ATAJOS = new Color(0.95f, 0.95f, 0.95f, 1f); // Blanco casi puro
+
+    // Carpeta (dentro de CarpetaDatos) donde se guardan las partidas grabadas
+    private static final String CARPETA_GRABACIONES = "grabaciones/";
+
+    // Perfil y puntajes del jugador (dentro de CarpetaDatos) y espera maxima para guardarlos al cerrar
+    private static final String ARCHIVO_PERFIL = "perfil/perfil.txt";
+    private static final String ARCHIVO_PUNTAJES = "perfil/puntajes.log";
+    private static final long ESPERA_CIERRE_PERFIL_MS = 1000;
+
+    // Carpeta (dentro de CarpetaDatos) de los archivos de telemetria
+    private static final String CARPETA_TELEMETRIA = "telemetria/";
 
     private OrthographicCamera camera;
     private SpriteBatch batch;
     private BitmapFont font;
 
-    private Tarro tarro;
-    private Lluvia lluvia;
+    // Tarro, lluvia y el frame de la pantalla de juego (se crea al terminar la carga)
+    private PartidaJuego partida;
+
+    // Teclado leido una vez por paso, asi lo que se graba es lo que uso la simulacion
+    private final EntradaMuestreada entradaJuego = new EntradaMuestreada(new EntradaTeclado());
+
+    // Grabacion de la partida en curso (F5 o -Dlluvia.grabar=true para grabar)
+    private boolean grabarPartidas = Boolean.getBoolean("lluvia.grabar");
+    private GrabacionPartida grabacion;
+    // Las grabaciones terminadas se escriben en un hilo aparte para no trabar el Game Over
+    private final ExecutorService discoGrabaciones = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "CangriMain-grabaciones");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Cada paso fijo de la partida se agrega a la grabacion, si hay una
+    private final BucleFijo.Simulable grabarPaso = new BucleFijo.Simulable() {
+        @Override
+        public void actualizar(float paso) {
+            if (grabacion != null) {
+                Tarro tarro = partida.getTarro();
+                grabacion.registrarPaso(entradaJuego.izquierda(), entradaJuego.derecha(),
+                    tarro.getPuntos(), tarro.getVidas());
+            }
+        }
+    };
     
     // Texturas de fondos para menús
     private Texture fondoMenuPrincipal;
     private Texture fondoOpciones;
     private Texture fondoPausa;
     private Texture fondoGameOver;
-    private Texture fondoFacil;
-    private Texture fondoMedio;
-    private Texture fondoDificil;
     
     // Texturas reutilizables
     private Texture texBlanco; // Para overlay de pausa
     private Texture texSlider; // Para slider de opciones
-    private Texture texBucket; // Para reutilizar en inicializarJuego
 
-    private Stage escMenu;
-    private Skin skinMenu;
-    private FitViewport vpMenu;
+    // Estilos de todos los menus (botones, etiquetas y slider) en un solo Skin
+    private Skin skin;
 
-    private Stage escOpciones;
-    private Skin skinOpc;
-    private FitViewport vpOpc;
-    private Label lblVolumen;
+    // Menus de Scene2D: se construyen al entrar y se liberan si no se usan
+    private MenuPerezoso menuPrincipal;
+    private MenuPerezoso menuDificultad;
+    private MenuPerezoso menuOpciones;
+    private MenuPerezoso menuPausa;
+    private MenuPerezoso menuGameOver;
+    private MenuPerezoso[] menus;
 
-    private Stage escGameOver;
-    private Skin skinGameOver;
-    private FitViewport vpGameOver;
+    // Etiquetas que se actualizan desde fuera de su menu (se reasignan al reconstruirlo)
+    private Label lblVolumen;
     private Label lblPuntajeFinal;
     private Label lblDificultadFinal;
     private Label lblMejorPuntaje;
-
-    // Menú de selección de dificultad
-    private Stage escDificultad;
-    private Skin skinDificultad;
-    private FitViewport vpDificultad;
-    
-    // Menú de pausa
-    private Stage escPausa;
-    private Skin skinPausa;
-    private FitViewport vpPausa;
+    private Label lblPuestoFinal;
+    private Label lblTituloTabla;
+    private Label lblTablaPuntajes;
     private Label lblInfoPausa; // Label para mostrar información de la partida
     
     // Nivel de dificultad actual
@@ -101,12 +132,36 @@ public class CangriMain extends ApplicationAdapter {
     
     // Mejor puntaje alcanzado
     private int mejorPuntaje = 0;
+
+    // Mejores puntajes de la dificultad jugada, para la pantalla de Game Over
+    private final Array<TablaPuntajes.Puntaje> mejoresPuntajes = new Array<>(TablaPuntajes.TOP);
+    private final CharArray textoTabla = new CharArray(256);
     
     // Animación del menú principal
     private float tiempoAnimacion = 0f; // Para animación sutil del subtítulo
 
     private Tutorial tutorial;
 
+    // Estado de la carga en segundo plano (GestorRecursos)
+    private boolean menuCreado;
+    private boolean recursosListos;
+    private TextoCacheado txtCarga;
+
+    // Llamadas de dibujo y cambios de textura por estado (se muestran con F3)
+    private EstadisticasRender estadisticasRender;
+    private final EstadisticasSimulacion estadisticasSimulacion = new EstadisticasSimulacion();
+
+    // Textos cacheados: solo se vuelven a maquetar cuando cambia su contenido
+    private TextoCacheado txtTituloSombra, txtTitulo;
+    private TextoCacheado txtSubtituloSombra, txtSubtitulo;
+    private TextoCacheado txtAtajosSombra, txtAtajos;
+    private TextoCacheado txtPausa;
+
+    // Informacion de la pausa, se reconstruye solo si cambia la partida
+    private final CharArray infoPausa = new CharArray(64);
+    private int puntosInfoPausa = -1, vidasInfoPausa = -1;
+    private NivelDificultad dificultadInfoPausa;
+
     /**
      * Se ejecuta al iniciar el juego. Carga todos los recursos y crea los menus.
      */
@@ -117,88 +172,208 @@ public class CangriMain extends ApplicationAdapter {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, 800, 480);
         batch = new SpriteBatch();
+        estadisticasRender = new EstadisticasRender(batch);
 
-        // Cargar texturas y sonidos del juego
-        Sound hurtSound = Gdx.audio.newSound(Gdx.files.internal("hurt.ogg"));
-        texBucket = new Texture(Gdx.files.internal("bucket.png"));
-        tarro = new Tarro(texBucket, hurtSound);
-        Texture gota = new Texture(Gdx.files.internal("drop.png"));
-        Texture gotaMala = new Texture(Gdx.files.internal("dropBad.png"));
-        Sound dropSound = Gdx.audio.newSound(Gdx.files.internal("drop.wav"));
-        Music rainMusic = Gdx.audio.newMusic(Gdx.files.internal("rain.mp3"));
-        lluvia = new Lluvia(gota, gotaMala, dropSound, rainMusic);
-        
-        // Cargar fondos para los diferentes menus y niveles
-        fondoMenuPrincipal = new Texture(Gdx.files.internal("Menu.png"));
-        fondoOpciones = new Texture(Gdx.files.internal("Opciones.png"));
-        fondoPausa = new Texture(Gdx.files.internal("Pausa.png"));
-        fondoGameOver = new Texture(Gdx.files.internal("GameOver.png"));
-        fondoFacil = new Texture(Gdx.files.internal("Facil.png"));
-        fondoMedio = new Texture(Gdx.files.internal("Medio.png"));
-        fondoDificil = new Texture(Gdx.files.internal("Dificil.png"));
-        
-        // Texturas que se reutilizan en varios lugares
-        texBlanco = new Texture(Gdx.files.internal("white.png"));
-        texSlider = new Texture(Gdx.files.internal("white.png"));
+        // Encolar todos los recursos: se cargan de a poco en cada frame
+        // y el menu se muestra apenas estan listos sus propios recursos
+        GestorRecursos.getInstance().encolarTodo();
         
-        // Configurar volumen inicial
-        GestorAudio.getInstance().setVolumenMaestro(0.8f);
+        // Volumen y mejor puntaje guardados en el perfil (se escribe en segundo plano)
+        AlmacenPerfil perfil = AlmacenPerfil.getInstance();
+        perfil.abrir(CarpetaDatos.archivo(ARCHIVO_PERFIL).file());
+        GestorAudio.getInstance().setVolumenMaestro(perfil.getDecimal(AlmacenPerfil.VOLUMEN, 0.8f));
+        mejorPuntaje = perfil.getEntero(AlmacenPerfil.MEJOR_PUNTAJE, 0);
+
+        // Las tablas de puntajes se leen en segundo plano mientras carga el resto
+        TablaPuntajes.getInstance().abrir(CarpetaDatos.archivo(ARCHIVO_PUNTAJES).file());
+
+        // Eventos de la partida a disco desde un hilo aparte (-Dlluvia.telemetria=false la apaga)
+        Telemetria.getInstance().abrir(CarpetaDatos.archivo(CARPETA_TELEMETRIA).file());
         
         // Establecer dificultad por defecto
         dificultadActual = new DificultadMedio();
-        lluvia.setNivelDificultad(dificultadActual);
-        
+
+        crearTextos();
+
+        // Pantallas que no usan menus de Scene2D (las de menu se crean con sus menus)
+        pantallaCarga = new PantallaEstado("Carga", PerfiladorFrames.Fase.CARGA, null, this::renderCarga);
+        pantallaTutorial = new PantallaEstado("Tutorial", PerfiladorFrames.Fase.TUTORIAL, null, this::renderTutorial);
+        pantallaJuego = new PantallaEstado("Juego", PerfiladorFrames.Fase.JUEGO, null, this::renderJuego) {
+            @Override
+            public void pause() {
+                // Si la ventana pierde el foco en plena partida, se abre la pausa
+                pantallas.apilar(pantallaPausa);
+                pantallas.aplicarCambios();
+            }
+        };
+        pantallas.cambiar(pantallaCarga);
+        pantallas.aplicarCambios();
+    }
+
+    /**
+     * Avanza la carga en segundo plano y arma lo que dependa de cada grupo de recursos.
+     * Se llama al inicio de cada frame hasta que todo esta cargado.
+     */
+    private void actualizarCarga() {
+        GestorRecursos recursos = GestorRecursos.getInstance();
+        boolean termino = recursos.actualizar();
+        if (!menuCreado && recursos.menuListo()) alCargarMenu();
+        if (termino && menuCreado && !recursosListos) alCargarJuego();
+    }
+
+    /**
+     * Construye las interfaces de usuario cuando estan los recursos del menu.
+     */
+    private void alCargarMenu() {
+        GestorRecursos recursos = GestorRecursos.getInstance();
+        fondoMenuPrincipal = recursos.getTextura(GestorRecursos.FONDO_MENU);
+        texBlanco = recursos.getTextura(GestorRecursos.BLANCO);
+        texSlider = texBlanco;
+
+        // Solo se preparan los estilos; cada menu se arma la primera vez que se muestra
+        crearSkin();
+        menuPrincipal = new MenuPerezoso("Menu principal", batch, this::crearMenuPrincipal);
+        menuDificultad = new MenuPerezoso("Dificultad", batch, this::crearMenuSeleccionDificultad);
+        menuOpciones = new MenuPerezoso("Opciones", batch, this::crearMenuOpciones);
+        menuPausa = new MenuPerezoso("Pausa", batch, this::crearMenuPausa);
+        menuGameOver = new MenuPerezoso("Game Over", batch, this::crearMenuGameOver);
+        menus = new MenuPerezoso[] { menuPrincipal, menuDificultad, menuOpciones, menuPausa, menuGameOver };
+
+        pantallaMenu = new PantallaEstado("Menu", PerfiladorFrames.Fase.MENU, menuPrincipal, this::renderMenu);
+        pantallaDificultad = new PantallaEstado("Dificultad", PerfiladorFrames.Fase.SELECCION_DIFICULTAD,
+            menuDificultad, this::renderSeleccionDificultad);
+        pantallaOpciones = new PantallaEstado("Opciones", PerfiladorFrames.Fase.OPCIONES, menuOpciones, this::renderOpciones);
+        pantallaPausa = new PantallaEstado("Pausa", PerfiladorFrames.Fase.PAUSA, menuPausa, this::renderPausa);
+        pantallaGameOver = new PantallaEstado("Game Over", PerfiladorFrames.Fase.GAME_OVER, menuGameOver, this::renderGameOver);
+        menuCreado = true;
+    }
+
+    /**
+     * Crea el Skin compartido con los estilos de todos los menus.
+     * La fuente no se agrega al Skin porque la libera CangriMain.
+     */
+    private void crearSkin() {
+        skin = new Skin();
+
+        TextButton.TextButtonStyle estiloVerde = estiloBoton(Color.GREEN);
+        skin.add("default", estiloBoton(Color.WHITE));
+        skin.add("jugar", estiloVerde);
+        skin.add("reanudar", estiloVerde);
+        skin.add("facil", estiloVerde);
+        skin.add("medio", estiloBoton(Color.YELLOW));
+        skin.add("dificil", estiloBoton(Color.RED));
+        skin.add("tormenta", estiloBoton(Color.MAGENTA));
+
+        skin.add("default", new Label.LabelStyle(font, Color.WHITE));
+        skin.add("titulo", new Label.LabelStyle(font, Color.CYAN));
+        skin.add("titulo-pausa", new Label.LabelStyle(font, Color.YELLOW));
+        skin.add("titulo-game-over", new Label.LabelStyle(font, Color.RED));
+        skin.add("mejor", new Label.LabelStyle(font, Color.GOLD));
+
+        // Slider de volumen hecho con la textura blanca
+        Slider.SliderStyle estiloSlider = new Slider.SliderStyle();
+        estiloSlider.background = new TextureRegionDrawable(new TextureRegion(texSlider));
+        estiloSlider.knob = new TextureRegionDrawable(new TextureRegion(texSlider));
+        estiloSlider.background.setMinHeight(6);
+        estiloSlider.knob.setMinWidth(18);
+        estiloSlider.knob.setMinHeight(28);
+        skin.add("default-horizontal", estiloSlider);
+    }
+
+    private TextButton.TextButtonStyle estiloBoton(Color color) {
+        TextButton.TextButtonStyle estilo = new TextButton.TextButtonStyle();
+        estilo.font = font;
+        estilo.fontColor = color;
+        return estilo;
+    }
+
+    /**
+     * Crea el tarro y la lluvia cuando terminaron de cargar el atlas, los sonidos y los fondos.
+     */
+    private void alCargarJuego() {
+        GestorRecursos recursos = GestorRecursos.getInstance();
+
+        // Sprites (atlas del juego) y sonidos
+        AtlasJuego atlas = AtlasJuego.getInstance();
+        atlas.cargar();
+        TextureRegion gota = atlas.getRegion(AtlasJuego.GOTA_BUENA);
+        TextureRegion gotaMala = atlas.getRegion(AtlasJuego.GOTA_MALA);
+        Lluvia lluvia = new Lluvia(gota, gotaMala, recursos.getMusica(GestorRecursos.MUSICA_LLUVIA));
+        partida = new PartidaJuego(batch, camera, font, entradaJuego, atlas.getRegion(AtlasJuego.TARRO), lluvia);
+        partida.setDespuesDelPaso(grabarPaso);
+
+        // Banco de efectos: se cargan una sola vez y GestorAudio limita sus voces
+        // (duracion en segundos y maximo de copias simultaneas de cada uno)
+        GestorAudio audio = GestorAudio.getInstance();
+        audio.registrarSonido(GestorAudio.GOTA, recursos.getSonido(GestorRecursos.SONIDO_GOTA), 0.69f, 6);
+        audio.registrarSonido(GestorAudio.DANO, recursos.getSonido(GestorRecursos.SONIDO_DANO), 0.69f, 2);
+
+        // Fondos de los niveles y del resto de menus
+        fondoOpciones = recursos.getTextura(GestorRecursos.FONDO_OPCIONES);
+        fondoPausa = recursos.getTextura(GestorRecursos.FONDO_PAUSA);
+        fondoGameOver = recursos.getTextura(GestorRecursos.FONDO_GAME_OVER);
+        partida.setFondos(recursos.getTextura(GestorRecursos.FONDO_FACIL),
+            recursos.getTextura(GestorRecursos.FONDO_MEDIO),
+            recursos.getTextura(GestorRecursos.FONDO_DIFICIL));
+
         // Preparar el juego para empezar
         inicializarJuego();
-
-        // Construir todas las interfaces de usuario
-        crearMenuPrincipal();
-        crearMenuSeleccionDificultad();
-        crearMenuOpciones();
-        crearMenuPausa();
-        crearMenuGameOver();
+        recursosListos = true;
     }
-    
+
     /**
      * Reinicia el juego con la dificultad actual seleccionada.
      * Se llama al empezar una nueva partida o al reiniciar.
      */
     private void inicializarJuego() {
-        Sound hurtSound = Gdx.audio.newSound(Gdx.files.internal("hurt.ogg"));
-        tarro = new Tarro(texBucket, hurtSound);
-        tarro.crear();
-        tarro.setVidasIniciales(dificultadActual.getVidasIniciales());
-        
-        lluvia.setNivelDificultad(dificultadActual);
-        lluvia.crear();
+        terminarGrabacion();
+        long semilla = MathUtils.random.nextLong();
+
+        partida.reiniciar(dificultadActual, semilla);
         aplicarVolumen();
+
+        if (grabarPartidas) {
+            Tarro tarro = partida.getTarro();
+            TextureRegion gota = AtlasJuego.getInstance().getRegion(AtlasJuego.GOTA_BUENA);
+            TextureRegion gotaMala = AtlasJuego.getInstance().getRegion(AtlasJuego.GOTA_MALA);
+            grabacion = new GrabacionPartida(semilla, dificultadActual.getNombre(), partida.getPaso(),
+                tarro.getRectangulo().width, tarro.getRectangulo().height,
+                gota.getRegionWidth(), gota.getRegionHeight(),
+                gotaMala.getRegionWidth(), gotaMala.getRegionHeight(),
+                dificultadActual.getVidasIniciales());
+        }
     }
 
     /**
-     * Crea el menu principal con sus botones y estilos.
+     * Guarda la partida grabada (si hay una con al menos un paso) en CARPETA_GRABACIONES.
+     * La escritura queda en cola en el hilo de grabaciones; se reproduce con ReproductorPartida.
      */
-    private void crearMenuPrincipal() {
-        vpMenu = new FitViewport(800, 480);
-        escMenu = new Stage(vpMenu, batch);
-        Gdx.input.setInputProcessor(escMenu);
-
-        skinMenu = new Skin();
-        skinMenu.add("fuente", font);
-
-        // Estilos de botones mejorados con colores
-        TextButton.TextButtonStyle estiloBtn = new TextButton.TextButtonStyle();
-        estiloBtn.font = font;
-        estiloBtn.fontColor = Color.WHITE;
-        skinMenu.add("default", estiloBtn);
-        
-        TextButton.TextButtonStyle estiloBtnJugar = new TextButton.TextButtonStyle();
-        estiloBtnJugar.font = font;
-        estiloBtnJugar.fontColor = Color.GREEN;
-        skinMenu.add("jugar", estiloBtnJugar);
+    private void terminarGrabacion() {
+        if (grabacion == null) return;
+        GrabacionPartida terminada = grabacion;
+        grabacion = null;
+        if (terminada.getPasos() == 0) return;
+
+        FileHandle archivo = CarpetaDatos.archivo(CARPETA_GRABACIONES + "partida-" + System.currentTimeMillis() + ".rep");
+        discoGrabaciones.execute(() -> guardarGrabacion(terminada, archivo));
+    }
 
-        Label.LabelStyle estiloLbl = new Label.LabelStyle(font, Color.WHITE);
-        skinMenu.add("lbl", estiloLbl);
+    /**
+     * Escribe la grabacion en el archivo; corre en el hilo de grabaciones.
+     */
+    private static void guardarGrabacion(GrabacionPartida terminada, FileHandle archivo) {
+        try (OutputStream salida = archivo.write(false)) {
+            terminada.guardar(salida);
+            Gdx.app.log("CangriMain", "Partida grabada en " + archivo.file().getAbsolutePath() + " (" + terminada.getPasos() + " pasos)");
+        } catch (Exception e) {
+            Gdx.app.error("CangriMain", "No se pudo guardar la partida grabada", e);
+        }
+    }
 
+    /**
+     * Crea el menu principal con sus botones.
+     */
+    private void crearMenuPrincipal(Stage escMenu) {
         Table tMenu = new Table();
         tMenu.setFillParent(true);
         tMenu.center();
@@ -211,10 +386,10 @@ public class CangriMain extends ApplicationAdapter {
         // No los agregamos aquí para poder animarlos dinámicamente
 
         // Botones con estilos mejorados (sin emojis)
-        TextButton btnJugar = new TextButton("JUGAR", skinMenu.get("jugar", TextButton.TextButtonStyle.class));
-        TextButton btnTutorial = new TextButton("Tutorial", skinMenu);
-        TextButton btnOpciones = new TextButton("Opciones", skinMenu);
-        TextButton btnSalir = new TextButton("Salir", skinMenu);
+        TextButton btnJugar = new TextButton("JUGAR", skin, "jugar");
+        TextButton btnTutorial = new TextButton("Tutorial", skin);
+        TextButton btnOpciones = new TextButton("Opciones", skin);
+        TextButton btnSalir = new TextButton("Salir", skin);
 
         tMenu.add(btnJugar).center().row();
         tMenu.add(btnTutorial).center().row();
@@ -226,25 +401,21 @@ public class CangriMain extends ApplicationAdapter {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 // Ir a selección de dificultad antes de jugar
-                estado = EstadoPantalla.SELECCION_DIFICULTAD;
-                Gdx.input.setInputProcessor(escDificultad);
+                pantallas.apilar(pantallaDificultad);
             }
         });
 
         btnTutorial.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                if (tutorial == null) tutorial = new Tutorial();
-                tutorial.reiniciar();
-                estado = EstadoPantalla.TUTORIAL;
+                abrirTutorial();
             }
         });
 
         btnOpciones.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                estado = EstadoPantalla.OPCIONES;
-                Gdx.input.setInputProcessor(escOpciones);
+                pantallas.apilar(pantallaOpciones);
             }
         });
 
@@ -257,41 +428,38 @@ public class CangriMain extends ApplicationAdapter {
     }
 
     /**
-     * Crea el menu de seleccion de dificultad.
-     * Muestra tres opciones: Facil, Medio y Dificil, cada una con su descripcion.
+     * Crea los textos que se dibujan directamente con la fuente (menu y pausa).
      */
-    private void crearMenuSeleccionDificultad() {
-        vpDificultad = new FitViewport(800, 480);
-        escDificultad = new Stage(vpDificultad, batch);
-        skinDificultad = new Skin();
-        skinDificultad.add("fuente", font);
-
-        // Estilos de botones con colores mejorados
-        TextButton.TextButtonStyle estiloBtn = new TextButton.TextButtonStyle();
-        estiloBtn.font = font;
-        estiloBtn.fontColor = Color.WHITE;
-        skinDificultad.add("default", estiloBtn);
-        
-        TextButton.TextButtonStyle estiloBtnFacil = new TextButton.TextButtonStyle();
-        estiloBtnFacil.font = font;
-        estiloBtnFacil.fontColor = Color.GREEN;
-        skinDificultad.add("facil", estiloBtnFacil);
-        
-        TextButton.TextButtonStyle estiloBtnMedio = new TextButton.TextButtonStyle();
-        estiloBtnMedio.font = font;
-        estiloBtnMedio.fontColor = Color.YELLOW;
-        skinDificultad.add("medio", estiloBtnMedio);
-        
-        TextButton.TextButtonStyle estiloBtnDificil = new TextButton.TextButtonStyle();
-        estiloBtnDificil.font = font;
-        estiloBtnDificil.fontColor = Color.RED;
-        skinDificultad.add("dificil", estiloBtnDificil);
+    private void crearTextos() {
+        txtTituloSombra = textoCentrado("JUEGO LLUVIA", 3, 380 - 3, COLOR_SOMBRA_TITULO);
+        txtTitulo = textoCentrado("JUEGO LLUVIA", 0, 380, COLOR_TITULO);
 
-        Label.LabelStyle estiloLbl = new Label.LabelStyle(font, Color.WHITE);
-        Label.LabelStyle estiloLblTitulo = new Label.LabelStyle(font, Color.CYAN);
-        skinDificultad.add("lbl", estiloLbl);
-        skinDificultad.add("titulo", estiloLblTitulo);
+        String subtitulo = "Atrapa gotas azules, evita las rojas";
+        txtSubtituloSombra = textoCentrado(subtitulo, 2, 338, COLOR_SOMBRA_SUBTITULO);
+        txtSubtitulo = textoCentrado(subtitulo, 0, 340, COLOR_SUBTITULO);
+
+        String atajos = "Atajos: [J] Jugar  [T] Tutorial  [O] Opciones  [ESC] Salir";
+        txtAtajosSombra = textoCentrado(atajos, 2, 472, COLOR_SOMBRA_ATAJOS);
+        txtAtajos = textoCentrado(atajos, 0, 470, COLOR_ATAJOS);
+
+        txtCarga = new TextoCacheado(font, "Cargando... ", "%").centrado(0, 260, 800);
+
+        txtPausa = textoCentrado("Presiona [P] o [ESC] para reanudar", 0, 30, Color.LIGHT_GRAY);
+    }
+
+    private TextoCacheado textoCentrado(String texto, float desplazamiento, float y, Color color) {
+        TextoCacheado t = new TextoCacheado(font).centrado(desplazamiento, y, 800);
+        t.setTexto(texto);
+        t.setColor(color);
+        return t;
+    }
 
+    /**
+     * Crea el menu de seleccion de dificultad.
+     * Muestra tres opciones: Facil, Medio y Dificil, cada una con su descripcion,
+     * y el nivel Tormenta que se usa como prueba de carga.
+     */
+    private void crearMenuSeleccionDificultad(Stage escDificultad) {
         Table tDificultad = new Table();
         tDificultad.setFillParent(true);
         tDificultad.center();
@@ -301,14 +469,14 @@ public class CangriMain extends ApplicationAdapter {
         escDificultad.addActor(tDificultad);
 
         // Título centrado
-        Label titulo = new Label("Selecciona Dificultad", estiloLblTitulo);
-        tDificultad.add(titulo).center().padBottom(25).row();
+        Label titulo = new Label("Selecciona Dificultad", skin, "titulo");
+        tDificultad.add(titulo).center().padBottom(10).row();
 
         // Opcion Facil
         DificultadFacil facil = new DificultadFacil();
-        TextButton btnFacil = new TextButton("FACIL", skinDificultad.get("facil", TextButton.TextButtonStyle.class));
+        TextButton btnFacil = new TextButton("FACIL", skin, "facil");
         tDificultad.add(btnFacil).center().padBottom(6).row();
-        Label descFacil = new Label(facil.getDescripcion(), estiloLbl);
+        Label descFacil = new Label(facil.getDescripcion(), skin);
         descFacil.setWrap(true);
         tDificultad.add(descFacil).center().width(360).padBottom(15).row();
         
@@ -322,9 +490,9 @@ public class CangriMain extends ApplicationAdapter {
 
         // Opcion Medio
         DificultadMedio medio = new DificultadMedio();
-        TextButton btnMedio = new TextButton("MEDIO", skinDificultad.get("medio", TextButton.TextButtonStyle.class));
+        TextButton btnMedio = new TextButton("MEDIO", skin, "medio");
         tDificultad.add(btnMedio).center().padBottom(6).row();
-        Label descMedio = new Label(medio.getDescripcion(), estiloLbl);
+        Label descMedio = new Label(medio.getDescripcion(), skin);
         descMedio.setWrap(true);
         tDificultad.add(descMedio).center().width(360).padBottom(15).row();
         
@@ -338,9 +506,9 @@ public class CangriMain extends ApplicationAdapter {
 
         // Opcion Dificil
         DificultadDificil dificil = new DificultadDificil();
-        TextButton btnDificil = new TextButton("DIFICIL", skinDificultad.get("dificil", TextButton.TextButtonStyle.class));
+        TextButton btnDificil = new TextButton("DIFICIL", skin, "dificil");
         tDificultad.add(btnDificil).center().padBottom(6).row();
-        Label descDificil = new Label(dificil.getDescripcion(), estiloLbl);
+        Label descDificil = new Label(dificil.getDescripcion(), skin);
         descDificil.setWrap(true);
         tDificultad.add(descDificil).center().width(360).padBottom(15).row();
         
@@ -352,53 +520,71 @@ public class CangriMain extends ApplicationAdapter {
             }
         });
 
+        // Opcion Tormenta (prueba de carga, sin descripcion para que quepa en pantalla)
+        DificultadTormenta tormenta = new DificultadTormenta();
+        TextButton btnTormenta = new TextButton("TORMENTA", skin, "tormenta");
+        tDificultad.add(btnTormenta).center().padBottom(6).row();
+
+        btnTormenta.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                dificultadActual = tormenta;
+                iniciarJuego();
+            }
+        });
+
         // Boton para volver al menu principal
-        TextButton btnVolver = new TextButton("Volver al Menu", skinDificultad);
+        TextButton btnVolver = new TextButton("Volver al Menu", skin);
         tDificultad.add(btnVolver).center().padTop(10).row();
         
         btnVolver.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                estado = EstadoPantalla.MENU;
-                Gdx.input.setInputProcessor(escMenu);
+                pantallas.desapilar();
             }
         });
     }
     
     /**
      * Inicia una nueva partida con la dificultad seleccionada.
+     * Si los recursos del juego aun no terminaron de cargar, espera en la pantalla de carga.
      */
     private void iniciarJuego() {
+        if (!recursosListos) {
+            esperarCarga(pantallaJuego);
+            return;
+        }
         inicializarJuego();
-        estado = EstadoPantalla.JUEGO;
+        pantallas.cambiar(pantallaJuego);
     }
 
     /**
-     * Crea el menu de pausa que aparece cuando el jugador pausa el juego.
-     * Muestra informacion de la partida y opciones para continuar o salir.
+     * Abre el tutorial (que puede pasar directo al juego, por eso tambien espera la carga).
      */
-    private void crearMenuPausa() {
-        vpPausa = new FitViewport(800, 480);
-        escPausa = new Stage(vpPausa, batch);
-        skinPausa = new Skin();
-        skinPausa.add("fuente", font);
-
-        // Estilos para los botones y labels
-        TextButton.TextButtonStyle estiloBtn = new TextButton.TextButtonStyle();
-        estiloBtn.font = font;
-        estiloBtn.fontColor = Color.WHITE;
-        skinPausa.add("default", estiloBtn);
-        
-        TextButton.TextButtonStyle estiloBtnReanudar = new TextButton.TextButtonStyle();
-        estiloBtnReanudar.font = font;
-        estiloBtnReanudar.fontColor = Color.GREEN;
-        skinPausa.add("reanudar", estiloBtnReanudar);
+    private void abrirTutorial() {
+        GestorRecursos.getInstance().encolarTutorial();
+        if (!recursosListos || !GestorRecursos.getInstance().tutorialListo()) {
+            esperarCarga(pantallaTutorial);
+            return;
+        }
+        if (tutorial == null) tutorial = new Tutorial();
+        tutorial.reiniciar();
+        pantallas.cambiar(pantallaTutorial);
+    }
 
-        Label.LabelStyle estiloLbl = new Label.LabelStyle(font, Color.WHITE);
-        Label.LabelStyle estiloLblTitulo = new Label.LabelStyle(font, Color.YELLOW);
-        skinPausa.add("lbl", estiloLbl);
-        skinPausa.add("titulo", estiloLblTitulo);
+    /**
+     * Muestra la pantalla de carga y al terminar continua hacia el destino indicado.
+     */
+    private void esperarCarga(Pantalla destino) {
+        pantallaTrasCarga = destino;
+        pantallas.cambiar(pantallaCarga);
+    }
 
+    /**
+     * Crea el menu de pausa que aparece cuando el jugador pausa el juego.
+     * Muestra informacion de la partida y opciones para continuar o salir.
+     */
+    private void crearMenuPausa(Stage escPausa) {
         // Layout principal centrado
         Table tPausa = new Table();
         tPausa.setFillParent(true);
@@ -408,57 +594,55 @@ public class CangriMain extends ApplicationAdapter {
         escPausa.addActor(tPausa);
 
         // Titulo del menu
-        Label tituloPausa = new Label("PAUSA", estiloLblTitulo);
+        Label tituloPausa = new Label("PAUSA", skin, "titulo-pausa");
         tituloPausa.setAlignment(Align.center);
         tPausa.add(tituloPausa).center().padBottom(15).row();
         
         // Label que muestra puntaje, vidas y dificultad (se actualiza en render)
-        Label.LabelStyle estiloInfo = new Label.LabelStyle(font, Color.CYAN);
-        lblInfoPausa = new Label("", estiloInfo);
+        lblInfoPausa = new Label("", skin, "titulo");
         lblInfoPausa.setWrap(true);
         lblInfoPausa.setAlignment(Align.center);
         tPausa.add(lblInfoPausa).center().width(380).padBottom(20).row();
+        puntosInfoPausa = -1; // El label es nuevo: hay que volver a escribirlo
 
         // Boton para reanudar el juego
-        TextButton btnReanudar = new TextButton("> Reanudar", skinPausa.get("reanudar", TextButton.TextButtonStyle.class));
+        TextButton btnReanudar = new TextButton("> Reanudar", skin, "reanudar");
         tPausa.add(btnReanudar).center().padBottom(10).row();
         btnReanudar.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                estado = EstadoPantalla.JUEGO;
+                pantallas.desapilar();
             }
         });
 
         // Boton para reiniciar la partida desde cero
-        TextButton btnReiniciar = new TextButton("Reiniciar Partida", skinPausa);
+        TextButton btnReiniciar = new TextButton("Reiniciar Partida", skin);
         tPausa.add(btnReiniciar).center().padBottom(10).row();
         btnReiniciar.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
                 inicializarJuego();
-                estado = EstadoPantalla.JUEGO;
+                pantallas.desapilar();
             }
         });
 
         // Boton para ir a opciones
-        TextButton btnOpciones = new TextButton("Opciones", skinPausa);
+        TextButton btnOpciones = new TextButton("Opciones", skin);
         tPausa.add(btnOpciones).center().padBottom(10).row();
         btnOpciones.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                estado = EstadoPantalla.OPCIONES;
-                Gdx.input.setInputProcessor(escOpciones);
+                pantallas.apilar(pantallaOpciones);
             }
         });
 
         // Boton para volver al menu principal
-        TextButton btnMenu = new TextButton("Menu Principal", skinPausa);
+        TextButton btnMenu = new TextButton("Menu Principal", skin);
         tPausa.add(btnMenu).center().padBottom(10).row();
         btnMenu.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                estado = EstadoPantalla.MENU;
-                Gdx.input.setInputProcessor(escMenu);
+                pantallas.cambiar(pantallaMenu);
             }
         });
     }
@@ -466,43 +650,22 @@ public class CangriMain extends ApplicationAdapter {
     /**
      * Crea el menu de opciones donde se puede ajustar el volumen y cambiar a pantalla completa.
      */
-    private void crearMenuOpciones() {
-        vpOpc = new FitViewport(800, 480);
-        escOpciones = new Stage(vpOpc, batch);
-        skinOpc = new Skin();
-        skinOpc.add("fuente", font);
-
-        TextButton.TextButtonStyle estiloBtn = new TextButton.TextButtonStyle();
-        estiloBtn.font = font;
-        estiloBtn.fontColor = Color.WHITE;
-        skinOpc.add("default", estiloBtn);
-
-        Label.LabelStyle estiloLbl = new Label.LabelStyle(font, Color.WHITE);
-        skinOpc.add("lbl", estiloLbl);
-
+    private void crearMenuOpciones(Stage escOpciones) {
         Table tOpc = new Table();
         tOpc.setFillParent(true);
         tOpc.center();
         tOpc.defaults().pad(12).minWidth(260).prefWidth(300).maxWidth(340).height(50).center();
         escOpciones.addActor(tOpc);
 
-        Label tituloOpc = new Label("Opciones", estiloLbl);
+        Label tituloOpc = new Label("Opciones", skin);
         tOpc.add(tituloOpc).center().padBottom(30).row();
 
         // Label que muestra el porcentaje de volumen actual
-        lblVolumen = new Label("Volumen: " + (int)(GestorAudio.getInstance().getVolumenMaestro() * 100) + "%", estiloLbl);
+        lblVolumen = new Label("Volumen: " + (int)(GestorAudio.getInstance().getVolumenMaestro() * 100) + "%", skin);
         tOpc.add(lblVolumen).center().padBottom(12).row();
 
-        // Slider para ajustar el volumen
-        Slider.SliderStyle estiloSlider = new Slider.SliderStyle();
-        estiloSlider.background = new TextureRegionDrawable(new TextureRegion(texSlider));
-        estiloSlider.knob = new TextureRegionDrawable(new TextureRegion(texSlider));
-        estiloSlider.background.setMinHeight(6);
-        estiloSlider.knob.setMinWidth(18);
-        estiloSlider.knob.setMinHeight(28);
-        skinOpc.add("default-horizontal", estiloSlider);
-
-        final Slider sliderVolumen = new Slider(0f, 1f, 0.01f, false, skinOpc);
+        // Slider para ajustar el volumen (estilo "default-horizontal" del Skin)
+        final Slider sliderVolumen = new Slider(0f, 1f, 0.01f, false, skin);
         sliderVolumen.setValue(GestorAudio.getInstance().getVolumenMaestro());
         sliderVolumen.setColor(Color.LIGHT_GRAY);
         tOpc.add(sliderVolumen).center().width(320).height(45).padBottom(25).row();
@@ -512,13 +675,14 @@ public class CangriMain extends ApplicationAdapter {
             if (!sliderVolumen.isDragging()) return false;
             float nuevoVolumen = sliderVolumen.getValue();
             GestorAudio.getInstance().setVolumenMaestro(nuevoVolumen);
+            AlmacenPerfil.getInstance().setDecimal(AlmacenPerfil.VOLUMEN, GestorAudio.getInstance().getVolumenMaestro());
             lblVolumen.setText("Volumen: " + (int)(nuevoVolumen * 100) + "%");
             aplicarVolumen();
             return true;
         });
 
         // Boton para cambiar entre pantalla completa y ventana
-        TextButton btnPantalla = new TextButton("Pantalla completa (F11)", skinOpc);
+        TextButton btnPantalla = new TextButton("Pantalla completa (F11)", skin);
         tOpc.add(btnPantalla).center().padBottom(20).row();
         btnPantalla.addListener(new ClickListener() {
             @Override 
@@ -527,127 +691,280 @@ public class CangriMain extends ApplicationAdapter {
             }
         });
 
-        // Boton para volver al menu principal
-        TextButton btnVolver = new TextButton("Volver al Menu", skinOpc);
+        // Boton para volver a la pantalla desde la que se abrio (menu principal o pausa)
+        TextButton btnVolver = new TextButton("Volver", skin);
         tOpc.add(btnVolver).center().row();
         btnVolver.addListener(new ClickListener() {
             @Override 
             public void clicked(InputEvent event, float x, float y) {
-                estado = EstadoPantalla.MENU;
-                Gdx.input.setInputProcessor(escMenu);
+                pantallas.desapilar();
             }
         });
     }
 
     /**
      * Crea la pantalla de Game Over que se muestra cuando el jugador pierde todas las vidas.
-     * Muestra el puntaje final, la dificultad jugada y el mejor puntaje alcanzado.
+     * Muestra el puntaje final, la dificultad jugada, el puesto en la tabla de esa
+     * dificultad y sus mejores puntajes, y el mejor puntaje alcanzado.
      */
- private void crearMenuGameOver() {
-     vpGameOver = new FitViewport(800, 480);
-     escGameOver = new Stage(vpGameOver, batch);
-     skinGameOver = new Skin();
-     skinGameOver.add("fuente", font);
-
-     TextButton.TextButtonStyle estiloBtn = new TextButton.TextButtonStyle();
-     estiloBtn.font = font;
-     estiloBtn.fontColor = Color.WHITE;
-     skinGameOver.add("default", estiloBtn);
-
-     Label.LabelStyle estiloLblTitulo = new Label.LabelStyle(font, Color.RED);
-     Label.LabelStyle estiloLblTexto = new Label.LabelStyle(font, Color.WHITE);
-
-     Table tOver = new Table();
-     tOver.setFillParent(true);
-     tOver.center();
-     tOver.defaults().pad(12).minWidth(260).prefWidth(300).maxWidth(340).height(50).center();
-     escGameOver.addActor(tOver);
+    private void crearMenuGameOver(Stage escGameOver) {
+        // Dos columnas: el resultado y los botones a la izquierda, la tabla a la derecha
+        Table raiz = new Table();
+        raiz.setFillParent(true);
+        raiz.center();
+        escGameOver.addActor(raiz);
+
+        Table tOver = new Table();
+        tOver.defaults().pad(12).minWidth(260).prefWidth(300).maxWidth(340).height(50).center();
+        raiz.add(tOver).center();
+
+        Table tTabla = new Table();
+        tTabla.top();
+        raiz.add(tTabla).top().padTop(40).padLeft(30).width(200);
+
+        lblTituloTabla = new Label("", skin, "titulo");
+        lblTituloTabla.setAlignment(Align.center);
+        tTabla.add(lblTituloTabla).center().padBottom(15).row();
+
+        lblTablaPuntajes = new Label("", skin);
+        lblTablaPuntajes.setAlignment(Align.topLeft);
+        tTabla.add(lblTablaPuntajes).left().row();
 
         // Titulo principal
-        Label lblGameOver = new Label("GAME OVER", estiloLblTitulo);
+        Label lblGameOver = new Label("GAME OVER", skin, "titulo-game-over");
         lblGameOver.setAlignment(Align.center);
         tOver.add(lblGameOver).center().padBottom(35).row();
         
         // Separador visual
-        Label separador = new Label("----------------------------------------", estiloLblTexto);
+        Label separador = new Label("----------------------------------------", skin);
         separador.setColor(0.5f, 0.5f, 0.5f, 0.6f);
         separador.setAlignment(Align.center);
         tOver.add(separador).center().padBottom(25).row();
 
         // Labels que se actualizan cuando termina el juego
-     lblPuntajeFinal = new Label("", estiloLblTexto);
+        lblPuntajeFinal = new Label("", skin);
         lblPuntajeFinal.setAlignment(Align.center);
         tOver.add(lblPuntajeFinal).center().padBottom(12).row();
 
-        lblDificultadFinal = new Label("", estiloLblTexto);
+        lblDificultadFinal = new Label("", skin);
         lblDificultadFinal.setAlignment(Align.center);
         tOver.add(lblDificultadFinal).center().padBottom(12).row();
+
+        lblPuestoFinal = new Label("", skin);
+        lblPuestoFinal.setAlignment(Align.center);
+        tOver.add(lblPuestoFinal).center().padBottom(12).row();
         
         // Mejor puntaje destacado en dorado
-        Label.LabelStyle estiloLblMejor = new Label.LabelStyle(font, Color.GOLD);
-        lblMejorPuntaje = new Label("Mejor Puntaje: 0", estiloLblMejor);
+        lblMejorPuntaje = new Label("Mejor Puntaje: 0", skin, "mejor");
         lblMejorPuntaje.setAlignment(Align.center);
         tOver.add(lblMejorPuntaje).center().padBottom(35).row();
 
         // Boton para volver a jugar
-        TextButton btnReintentar = new TextButton("Volver a jugar", skinGameOver);
+        TextButton btnReintentar = new TextButton("Volver a jugar", skin);
         tOver.add(btnReintentar).center().padBottom(12).row();
-     btnReintentar.addListener(new ClickListener() {
-         @Override
-         public void clicked(InputEvent event, float x, float y) {
+        btnReintentar.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
                 inicializarJuego();
-             estado = EstadoPantalla.JUEGO;
-         }
-     });
+                pantallas.cambiar(pantallaJuego);
+            }
+        });
 
         // Boton para volver al menu principal
-        TextButton btnMenu = new TextButton("Menu principal", skinGameOver);
+        TextButton btnMenu = new TextButton("Menu principal", skin);
         tOver.add(btnMenu).center().padBottom(12).row();
-     btnMenu.addListener(new ClickListener() {
-         @Override
-         public void clicked(InputEvent event, float x, float y) {
-             estado = EstadoPantalla.MENU;
-             Gdx.input.setInputProcessor(escMenu);
-         }
-     });
+        btnMenu.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                pantallas.cambiar(pantallaMenu);
+            }
+        });
 
         // Boton para salir del juego
-        TextButton btnSalir = new TextButton("Salir", skinGameOver);
+        TextButton btnSalir = new TextButton("Salir", skin);
         tOver.add(btnSalir).center().row();
-     btnSalir.addListener(new ClickListener() {
-         @Override
-         public void clicked(InputEvent event, float x, float y) {
-             Gdx.app.exit();
-         }
-     });
- }
+        btnSalir.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                Gdx.app.exit();
+            }
+        });
+    }
+
+    /**
+     * Escribe los mejores puntajes de la dificultad en la tabla de Game Over.
+     */
+    private void actualizarTablaPuntajes(String dificultad) {
+        TablaPuntajes.getInstance().getMejores(dificultad, mejoresPuntajes);
+        lblTituloTabla.setText("Top " + TablaPuntajes.TOP + " - " + dificultad);
+        textoTabla.setLength(0);
+        for (int i = 0; i < mejoresPuntajes.size; i++) {
+            if (i > 0) textoTabla.append('\n');
+            textoTabla.append(i + 1).append(".  ").append(mejoresPuntajes.get(i).puntos);
+        }
+        lblTablaPuntajes.setText(textoTabla);
+    }
+
+    /**
+     * Pantalla que se dibuja con uno de los metodos render de esta clase.
+     * Si tiene un menu de Scene2D, lo construye al mostrarse y le da la entrada.
+     */
+    private class PantallaEstado extends Pantalla {
 
+        private final MenuPerezoso menu;
+        private final Runnable dibujo;
+
+        PantallaEstado(String nombre, PerfiladorFrames.Fase fase, MenuPerezoso menu, Runnable dibujo) {
+            super(nombre, fase);
+            this.menu = menu;
+            this.dibujo = dibujo;
+        }
+
+        @Override
+        public void show() {
+            // Sin menu no hay Stage: asi ninguna pantalla oculta recibe clics
+            Gdx.input.setInputProcessor(menu != null ? menu.obtener() : null);
+        }
+
+        @Override
+        public void resize(int ancho, int alto) {
+            if (menu != null) menu.redimensionar(ancho, alto);
+        }
+
+        @Override
+        public void render(float delta) {
+            dibujo.run();
+        }
+    }
 
     // ============================================================
     // RENDER LOOP
     // ============================================================
     @Override
     public void render() {
+        PerfiladorFrames perfilador = PerfiladorFrames.getInstance();
+        perfilador.iniciar(PerfiladorFrames.Fase.FRAME);
+
         ScreenUtils.clear(0, 0, 0.2f, 1);
         camera.update();
         batch.setProjectionMatrix(camera.combined);
 
         if (Gdx.input.isKeyJustPressed(Input.Keys.F11)) togglePantallaCompleta();
+        if (!recursosListos || !GestorRecursos.getInstance().terminado()) actualizarCarga();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F5)) {
+            // La grabacion empieza con la proxima partida; si se apaga, se guarda lo grabado
+            grabarPartidas = !grabarPartidas;
+            if (!grabarPartidas) terminarGrabacion();
+            Gdx.app.log("CangriMain", grabarPartidas ? "Grabando las proximas partidas" : "Grabacion desactivada");
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            perfilador.alternarVisible();
+            estadisticasRender.setPerfilGL(perfilador.isVisible());
+        }
+        estadisticasRender.inicioFrame();
+
+        // Solo se dibuja la pantalla activa; los cambios de pantalla pedidos
+        // durante el frame se aplican despues de medirla
+        PerfiladorFrames.Fase faseEstado = pantallas.getActiva().getFase();
+        perfilador.iniciar(faseEstado);
+        pantallas.render(Gdx.graphics.getDeltaTime());
+        perfilador.terminar(faseEstado);
+        estadisticasRender.finFrame(faseEstado);
+        pantallas.aplicarCambios();
+
+        // Liberar los menus que llevan un rato sin mostrarse
+        if (menus != null) {
+            for (MenuPerezoso menu : menus) menu.actualizarSinUso(Gdx.graphics.getDeltaTime());
+        }
+
+        // Emitir de una vez los sonidos pedidos durante el frame
+        GestorAudio.getInstance().vaciarCola();
 
-        switch (estado) {
-            case MENU: renderMenu(); break;
-            case SELECCION_DIFICULTAD: renderSeleccionDificultad(); break;
-            case OPCIONES: renderOpciones(); break;
-            case TUTORIAL: renderTutorial(); break;
-            case JUEGO: renderJuego(); break;
-            case PAUSA: renderPausa(); break;
-            case GAME_OVER: renderGameOver(); break;
+        // Overlay de depuracion (F3) por encima de cualquier pantalla
+        // (se dibuja despues de finFrame para no contarse a si mismo)
+        if (perfilador.isVisible() && texBlanco != null) {
+            camera.update();
+            batch.setProjectionMatrix(camera.combined);
+            batch.begin();
+            batch.setColor(0, 0, 0, 0.6f);
+            batch.draw(texBlanco, 5, 170, 330, 260);
+            batch.draw(texBlanco, 340, 210, 330, 220);
+            if (partida != null) batch.draw(texBlanco, 5, 100, 330, 65);
+            batch.setColor(1, 1, 1, 1);
+            perfilador.dibujar(batch, font);
+            estadisticasRender.dibujar(batch, font, 345, 420);
+            if (partida != null) {
+                estadisticasSimulacion.dibujar(batch, font, 10, 160, partida.getLluvia().getSimulacion(),
+                    Gdx.graphics.getDeltaTime());
+            }
+            batch.end();
         }
+
+        perfilador.terminar(PerfiladorFrames.Fase.FRAME);
+        perfilador.finFrame(Gdx.graphics.getDeltaTime());
+    }
+
+    /**
+     * Actualiza y dibuja un Stage midiendo cada parte en el perfilador.
+     */
+    private void actuarYDibujar(Stage escena) {
+        PerfiladorFrames perfilador = PerfiladorFrames.getInstance();
+        perfilador.iniciar(PerfiladorFrames.Fase.STAGE_ACT);
+        escena.act(Gdx.graphics.getDeltaTime());
+        perfilador.terminar(PerfiladorFrames.Fase.STAGE_ACT);
+        perfilador.iniciar(PerfiladorFrames.Fase.STAGE_DRAW);
+        escena.draw();
+        perfilador.terminar(PerfiladorFrames.Fase.STAGE_DRAW);
     }
 
     // ============================================================
     // RENDER MENÚS
     // ============================================================
+    /**
+     * Pantalla de carga: barra de progreso mientras el AssetManager trabaja.
+     * Cuando esta listo lo que necesita el destino, continua hacia el.
+     */
+    private void renderCarga() {
+        boolean listo;
+        if (pantallaTrasCarga == null) {
+            listo = menuCreado;
+        } else if (pantallaTrasCarga == pantallaTutorial) {
+            listo = recursosListos && GestorRecursos.getInstance().tutorialListo();
+        } else {
+            listo = recursosListos;
+        }
+        if (listo) {
+            irTrasCarga();
+            return;
+        }
+
+        float progreso = GestorRecursos.getInstance().getProgreso();
+        Texture blanco = GestorRecursos.getInstance().getTextura(GestorRecursos.BLANCO);
+        batch.begin();
+        if (blanco != null) {
+            batch.setColor(0.3f, 0.3f, 0.3f, 1f);
+            batch.draw(blanco, 200, 220, 400, 12);
+            batch.setColor(0.4f, 0.9f, 1f, 1f);
+            batch.draw(blanco, 200, 220, 400 * progreso, 12);
+            batch.setColor(1, 1, 1, 1);
+        }
+        txtCarga.setValor((int) (progreso * 100));
+        txtCarga.dibujar(batch);
+        batch.end();
+    }
+
+    private void irTrasCarga() {
+        Pantalla destino = pantallaTrasCarga;
+        pantallaTrasCarga = null;
+        if (destino == pantallaJuego) {
+            iniciarJuego();
+        } else if (destino == pantallaTutorial) {
+            abrirTutorial();
+        } else {
+            pantallas.cambiar(pantallaMenu);
+        }
+    }
+
     /**
      * Renderiza la pantalla del menú principal con diseño limpio y elegante
      */
@@ -655,6 +972,8 @@ public class CangriMain extends ApplicationAdapter {
         // Actualizar tiempo para animación sutil del subtítulo
         tiempoAnimacion += Gdx.graphics.getDeltaTime();
         
+        Stage escMenu = menuPrincipal.obtener();
+        FitViewport vpMenu = menuPrincipal.getViewport();
     	vpMenu.apply(true); 
 
         // Dibujar fondo del menú principal
@@ -665,70 +984,37 @@ public class CangriMain extends ApplicationAdapter {
         }
         batch.end();
 
-        escMenu.act(Gdx.graphics.getDeltaTime());
-        escMenu.draw();
+        actuarYDibujar(escMenu);
 
         batch.setProjectionMatrix(escMenu.getCamera().combined);
         batch.begin(); 
         
         // ===== TÍTULO CON CONTRASTE ELEGANTE =====
         // Título sin animación de escala, con sombra simple y elegante
-        String tituloTexto = "JUEGO LLUVIA";
-        GlyphLayout layoutTitulo = new GlyphLayout(font, tituloTexto);
-        float anchoTitulo = layoutTitulo.width;
-        float xTitulo = (vpMenu.getWorldWidth() - anchoTitulo) / 2f;
-        float yTitulo = 380;
-        
-        // Sombra simple y elegante (una sola capa)
-        font.setColor(new Color(0, 0, 0, 0.8f));
-        font.draw(batch, tituloTexto, xTitulo + 3, yTitulo - 3);
-        
-        // Título principal con color brillante
-        font.setColor(new Color(0.4f, 0.9f, 1f, 1f)); // Cyan brillante
-        font.draw(batch, tituloTexto, xTitulo, yTitulo);
+        txtTituloSombra.dibujar(batch);
+        txtTitulo.dibujar(batch);
         
         // ===== SUBTÍTULO CON CONTRASTE ELEGANTE =====
-        // Subtítulo con animación sutil de fade
+        // Subtítulo con animación sutil de fade (solo cambia la transparencia)
         float alpha = 0.85f + 0.15f * (float)Math.sin(tiempoAnimacion * 2f);
-        String subtitulo = "Atrapa gotas azules, evita las rojas";
-        GlyphLayout layoutSubtitulo = new GlyphLayout(font, subtitulo);
-        float xSubtitulo = (vpMenu.getWorldWidth() - layoutSubtitulo.width) / 2f;
-        
-        // Sombra del subtítulo
-        font.setColor(new Color(0, 0, 0, 0.7f));
-        font.draw(batch, subtitulo, xSubtitulo + 2, 338);
-        
-        // Subtítulo principal
-        font.setColor(new Color(1f, 1f, 0.95f, alpha)); // Blanco ligeramente amarillento
-        font.draw(batch, subtitulo, xSubtitulo, 340);
+        txtSubtituloSombra.dibujar(batch);
+        txtSubtitulo.setAlfa(alpha);
+        txtSubtitulo.dibujar(batch);
         
         // ===== ATAJOS CON CONTRASTE ELEGANTE =====
         // Atajos con sombra simple
-        String texto = "Atajos: [J] Jugar  [T] Tutorial  [O] Opciones  [ESC] Salir";
-        GlyphLayout layout = new GlyphLayout(font, texto);
-        float xTexto = (vpMenu.getWorldWidth() - layout.width) / 2f;
-        
-        // Sombra de atajos
-        font.setColor(new Color(0, 0, 0, 0.6f));
-        font.draw(batch, texto, xTexto + 2, 472);
-        
-        // Atajos principales
-        font.setColor(new Color(0.95f, 0.95f, 0.95f, 1f)); // Blanco casi puro
-        font.draw(batch, texto, xTexto, 470);
+        txtAtajosSombra.dibujar(batch);
+        txtAtajos.dibujar(batch);
         
         batch.end();
 
         // Atajos de teclado
         if (Gdx.input.isKeyJustPressed(Input.Keys.J)) {
-            estado = EstadoPantalla.SELECCION_DIFICULTAD;
-            Gdx.input.setInputProcessor(escDificultad);
+            pantallas.apilar(pantallaDificultad);
         } else if (Gdx.input.isKeyJustPressed(Input.Keys.T)) {
-            if (tutorial == null) tutorial = new Tutorial();
-            tutorial.reiniciar();
-            estado = EstadoPantalla.TUTORIAL;
+            abrirTutorial();
         } else if (Gdx.input.isKeyJustPressed(Input.Keys.O)) {
-            estado = EstadoPantalla.OPCIONES;
-            Gdx.input.setInputProcessor(escOpciones);
+            pantallas.apilar(pantallaOpciones);
         } else if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
             Gdx.app.exit();
         }
@@ -740,6 +1026,8 @@ public class CangriMain extends ApplicationAdapter {
      * Usa el mismo fondo que el menú principal
      */
     private void renderSeleccionDificultad() {
+        Stage escDificultad = menuDificultad.obtener();
+        FitViewport vpDificultad = menuDificultad.getViewport();
         vpDificultad.apply(true);
         
         // Dibujar fondo (mismo que menú principal)
@@ -750,13 +1038,11 @@ public class CangriMain extends ApplicationAdapter {
         }
         batch.end();
         
-        escDificultad.act(Gdx.graphics.getDeltaTime());
-        escDificultad.draw();
+        actuarYDibujar(escDificultad);
 
         // Atajos de teclado
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            estado = EstadoPantalla.MENU;
-            Gdx.input.setInputProcessor(escMenu);
+            pantallas.desapilar();
         } else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1)) {
             dificultadActual = new DificultadFacil();
             iniciarJuego();
@@ -766,6 +1052,9 @@ public class CangriMain extends ApplicationAdapter {
         } else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_3)) {
             dificultadActual = new DificultadDificil();
             iniciarJuego();
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_4)) {
+            dificultadActual = new DificultadTormenta();
+            iniciarJuego();
         }
     }
 
@@ -773,6 +1062,8 @@ public class CangriMain extends ApplicationAdapter {
      * Renderiza el menú de opciones con su fondo específico
      */
     private void renderOpciones() {
+        Stage escOpciones = menuOpciones.obtener();
+        FitViewport vpOpc = menuOpciones.getViewport();
         vpOpc.apply(true);
         
         // Dibujar fondo del menú de opciones
@@ -783,12 +1074,10 @@ public class CangriMain extends ApplicationAdapter {
         }
         batch.end();
         
-        escOpciones.act(Gdx.graphics.getDeltaTime());
-        escOpciones.draw();
+        actuarYDibujar(escOpciones);
 
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            estado = EstadoPantalla.MENU;
-            Gdx.input.setInputProcessor(escMenu);
+            pantallas.desapilar();
         }
     }
 
@@ -797,17 +1086,29 @@ public class CangriMain extends ApplicationAdapter {
         if (tutorial == null) tutorial = new Tutorial();
         tutorial.actualizar(dt, camera, batch, font);
         if (tutorial.solicitaVolverMenu()) {
-            estado = EstadoPantalla.MENU;
-            Gdx.input.setInputProcessor(escMenu);
+            cerrarTutorial();
+            pantallas.cambiar(pantallaMenu);
         } else if (tutorial.solicitaJugar()) {
-            estado = EstadoPantalla.JUEGO;
+            cerrarTutorial();
+            pantallas.cambiar(pantallaJuego);
         }
     }
 
+    /**
+     * Libera las texturas propias del tutorial al salir de el.
+     */
+    private void cerrarTutorial() {
+        tutorial.dispose();
+        tutorial = null;
+    }
+
     /**
      * Dibuja el menu de pausa con fondo, overlay oscuro y opciones.
      */
     private void renderPausa() {
+        Stage escPausa = menuPausa.obtener();
+        FitViewport vpPausa = menuPausa.getViewport();
+
         // Dibujar fondo del menu de pausa
         vpPausa.apply(true);
         batch.setProjectionMatrix(vpPausa.getCamera().combined);
@@ -825,109 +1126,76 @@ public class CangriMain extends ApplicationAdapter {
         batch.end();
         
         // Actualizar informacion de la partida (puntaje, vidas, dificultad)
-        if (lblInfoPausa != null) {
-            String info = "Puntaje: " + tarro.getPuntos() + " | Vidas: " + tarro.getVidas() + " | " + dificultadActual.getNombre();
-            lblInfoPausa.setText(info);
-        }
+        actualizarInfoPausa();
         
         // Dibujar el menu
         vpPausa.apply(true);
-        escPausa.act(Gdx.graphics.getDeltaTime());
-        escPausa.draw();
+        actuarYDibujar(escPausa);
         
         // Mostrar instrucciones en la parte inferior
         batch.setProjectionMatrix(vpPausa.getCamera().combined);
         batch.begin();
-        font.setColor(Color.LIGHT_GRAY);
-        String textoPausa = "Presiona [P] o [ESC] para reanudar";
-        GlyphLayout layoutPausa = new GlyphLayout(font, textoPausa);
-        float xPausa = (vpPausa.getWorldWidth() - layoutPausa.width) / 2f;
-        float yPausa = 30f;
-        font.draw(batch, textoPausa, xPausa, yPausa);
+        txtPausa.dibujar(batch);
         batch.end();
         
         // Detectar teclas para reanudar
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Input.Keys.P)) {
-            estado = EstadoPantalla.JUEGO;
+            pantallas.desapilar();
         }
     }
 
+    /**
+     * Reconstruye el texto de la pausa solo cuando cambian puntaje, vidas o dificultad.
+     */
+    private void actualizarInfoPausa() {
+        Tarro tarro = partida.getTarro();
+        if (tarro.getPuntos() == puntosInfoPausa && tarro.getVidas() == vidasInfoPausa
+                && dificultadActual == dificultadInfoPausa) return;
+        puntosInfoPausa = tarro.getPuntos();
+        vidasInfoPausa = tarro.getVidas();
+        dificultadInfoPausa = dificultadActual;
+        infoPausa.setLength(0);
+        infoPausa.append("Puntaje: ").append(puntosInfoPausa)
+            .append(" | Vidas: ").append(vidasInfoPausa)
+            .append(" | ").append(dificultadActual.getNombre());
+        lblInfoPausa.setText(infoPausa);
+    }
+
     /**
      * Dibuja la pantalla principal del juego.
-     * Actualiza todas las entidades, muestra informacion y maneja la pausa.
+     * El frame de la partida lo hace PartidaJuego; aqui se maneja el fin de partida y la pausa.
      */
     private void renderJuego() {
-        camera.update();
-        batch.setProjectionMatrix(camera.combined);
-
-        // Determinar y dibujar fondo según dificultad
-        batch.begin();
-        Texture fondoActual = null;
-        if (dificultadActual instanceof DificultadFacil) {
-            fondoActual = fondoFacil;
-        } else if (dificultadActual instanceof DificultadDificil) {
-            fondoActual = fondoDificil;
-        } else {
-            fondoActual = fondoMedio;
-        }
-        
-        // Dibujar fondo si existe, si no usar color sólido como fallback
-        if (fondoActual != null) {
-            batch.draw(fondoActual, 0, 0, 800, 480);
-        } else {
-            // Fallback a colores sólidos si no hay fondo
-            batch.end();
-            if (dificultadActual instanceof DificultadFacil) {
-                ScreenUtils.clear(0, 0.1f, 0.2f, 1);
-            } else if (dificultadActual instanceof DificultadDificil) {
-                ScreenUtils.clear(0.2f, 0, 0, 1);
-            } else {
-                ScreenUtils.clear(0, 0, 0.2f, 1);
-            }
-            batch.begin();
-        }
-        // Información del juego con mejor formato
-        font.setColor(Color.WHITE);
-        font.draw(batch, "Puntaje: " + tarro.getPuntos(), 10, 475);
-        
-        // Vidas con color según cantidad
-        if (tarro.getVidas() > 2) {
-            font.setColor(Color.GREEN);
-        } else if (tarro.getVidas() > 1) {
-            font.setColor(Color.YELLOW);
-        } else {
-            font.setColor(Color.RED);
-        }
-        font.draw(batch, "Vidas: " + tarro.getVidas(), 720, 475);
-        
-        // Mostrar dificultad actual
-        font.setColor(Color.CYAN);
-        font.draw(batch, "Dificultad: " + dificultadActual.getNombre(), 10, 455);
-        
-        // Actualizar y dibujar entidades
-        tarro.actualizarMovimiento();
-        lluvia.actualizarMovimiento(tarro);
-        tarro.dibujar(batch);
-        lluvia.actualizarDibujoLluvia(batch);
-        batch.end();
+        partida.frame(Gdx.graphics.getDeltaTime());
+        Tarro tarro = partida.getTarro();
 
         // Verificar fin del juego
         if (tarro.getVidas() <= 0) {
             // Actualizar mejor puntaje
             if (tarro.getPuntos() > mejorPuntaje) {
                 mejorPuntaje = tarro.getPuntos();
+                AlmacenPerfil.getInstance().setEntero(AlmacenPerfil.MEJOR_PUNTAJE, mejorPuntaje);
             }
+            // Solo actualiza la memoria: la escritura del puntaje queda en cola
+            String nombre = dificultadActual.getNombre();
+            TablaPuntajes puntajes = TablaPuntajes.getInstance();
+            int puesto = puntajes.registrar(nombre, tarro.getPuntos());
+            Telemetria.getInstance().registrar(Telemetria.GAME_OVER, tarro.getPuntos(), 0, 0);
+
+            // Se construye el menu antes de cambiar de pantalla, asi sus labels ya existen
+            menuGameOver.obtener();
             lblPuntajeFinal.setText("Puntaje Obtenido: " + tarro.getPuntos());
-            lblDificultadFinal.setText("Dificultad: " + dificultadActual.getNombre());
+            lblDificultadFinal.setText("Dificultad: " + nombre);
+            lblPuestoFinal.setText("Puesto " + puesto + " de " + puntajes.getPartidas(nombre));
             lblMejorPuntaje.setText("Mejor Puntaje: " + mejorPuntaje);
-            estado = EstadoPantalla.GAME_OVER;
-            Gdx.input.setInputProcessor(escGameOver);
+            actualizarTablaPuntajes(nombre);
+            terminarGrabacion();
+            pantallas.cambiar(pantallaGameOver);
         }
 
         // Pausa con ESC o P (solo cuando está jugando)
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Input.Keys.P)) {
-            estado = EstadoPantalla.PAUSA;
-            Gdx.input.setInputProcessor(escPausa);
+            pantallas.apilar(pantallaPausa);
         }
     }
     
@@ -938,6 +1206,8 @@ public class CangriMain extends ApplicationAdapter {
      * Los labels se actualizan en renderJuego() antes de cambiar a este estado.
      */
     private void renderGameOver() {
+        Stage escGameOver = menuGameOver.obtener();
+        FitViewport vpGameOver = menuGameOver.getViewport();
         vpGameOver.apply(true);
         
         // Dibujar fondo de Game Over
@@ -948,8 +1218,7 @@ public class CangriMain extends ApplicationAdapter {
         }
         batch.end();
         
-        escGameOver.act(Gdx.graphics.getDeltaTime());
-        escGameOver.draw();
+        actuarYDibujar(escGameOver);
     }
 
     // ============================================================
@@ -957,50 +1226,63 @@ public class CangriMain extends ApplicationAdapter {
     // ============================================================
     @Override
     public void resize(int width, int height) {
-        if (vpMenu != null) vpMenu.update(width, height, true);
-        if (vpDificultad != null) vpDificultad.update(width, height, true);
-        if (vpOpc != null) vpOpc.update(width, height, true);
-        if (vpPausa != null) vpPausa.update(width, height, true);
-        if (vpGameOver != null) vpGameOver.update(width, height, true);
+        // Solo la pantalla activa ajusta su viewport; las demas lo hacen al volver a mostrarse
+        pantallas.resize(width, height);
         if (camera != null) { camera.setToOrtho(false, 800, 480); camera.update(); }
     }
 
+    @Override
+    public void pause() {
+        pantallas.pause();
+    }
+
+    @Override
+    public void resume() {
+        pantallas.resume();
+    }
+
     @Override
     public void dispose() {
+        // Guardar los tiempos de la sesion para compararlos entre versiones
+        PerfiladorFrames.getInstance().exportarCsv();
+        terminarGrabacion();
+
+        // Esperar a que se guarden la grabacion, el perfil, los puntajes y la telemetria,
+        // sin trabar el cierre si el disco no responde
+        discoGrabaciones.shutdown();
+        try {
+            if (!discoGrabaciones.awaitTermination(ESPERA_CIERRE_PERFIL_MS, TimeUnit.MILLISECONDS)) {
+                Gdx.app.error("CangriMain", "La partida grabada no termino de guardarse en " + ESPERA_CIERRE_PERFIL_MS + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        AlmacenPerfil.getInstance().cerrar(ESPERA_CIERRE_PERFIL_MS);
+        TablaPuntajes.getInstance().cerrar(ESPERA_CIERRE_PERFIL_MS);
+        Telemetria.getInstance().cerrar(ESPERA_CIERRE_PERFIL_MS);
+
         // Liberar recursos de entidades del juego
-        if (tarro != null) tarro.destruir();
-        if (lluvia != null) lluvia.destruir();
+        if (partida != null) partida.destruir();
         
         // Liberar recursos gráficos
+        estadisticasRender.dispose();
         batch.dispose();
         font.dispose();
         
-        // Liberar recursos de menús
-        if (escMenu != null) escMenu.dispose();
-        if (skinMenu != null) skinMenu.dispose();
-        if (escDificultad != null) escDificultad.dispose();
-        if (skinDificultad != null) skinDificultad.dispose();
-        if (escOpciones != null) escOpciones.dispose();
-        if (skinOpc != null) skinOpc.dispose();
-        if (escPausa != null) escPausa.dispose();
-        if (skinPausa != null) skinPausa.dispose();
-        if (escGameOver != null) escGameOver.dispose();
-        if (skinGameOver != null) skinGameOver.dispose();
+        // Liberar las pantallas, los menus que sigan construidos y el Skin compartido
+        pantallas.dispose();
+        if (menus != null) {
+            for (MenuPerezoso menu : menus) menu.liberar();
+        }
+        if (skin != null) skin.dispose();
         if (tutorial != null) tutorial.dispose();
         
-        // Liberar texturas de fondos
-        if (fondoMenuPrincipal != null) fondoMenuPrincipal.dispose();
-        if (fondoOpciones != null) fondoOpciones.dispose();
-        if (fondoPausa != null) fondoPausa.dispose();
-        if (fondoGameOver != null) fondoGameOver.dispose();
-        if (fondoFacil != null) fondoFacil.dispose();
-        if (fondoMedio != null) fondoMedio.dispose();
-        if (fondoDificil != null) fondoDificil.dispose();
-        
-        // Liberar texturas reutilizables
-        if (texBlanco != null) texBlanco.dispose();
-        if (texSlider != null) texSlider.dispose();
-        if (texBucket != null) texBucket.dispose();
+        // Liberar el atlas del juego, los recursos del AssetManager
+        // (fondos, sonidos y musica) y las texturas compartidas
+        GestorAudio.getInstance().vaciarBanco();
+        AtlasJuego.getInstance().dispose();
+        GestorRecursos.getInstance().dispose();
+        RegistroTexturas.getInstance().liberarTodo();
     }
 
     // ============================================================
@@ -1008,8 +1290,9 @@ public class CangriMain extends ApplicationAdapter {
     // ============================================================
     private void aplicarVolumen() {
         // Usa GestorAudio (Singleton) para aplicar volumen a todos los componentes
-        if (lluvia != null) lluvia.setVolumen(GestorAudio.getInstance().getVolumenMaestro());
-        if (tarro != null) tarro.setVolumen(GestorAudio.getInstance().getVolumenMaestro());
+        if (partida == null) return;
+        partida.getLluvia().setVolumen(GestorAudio.getInstance().getVolumenMaestro());
+        partida.getTarro().setVolumen(GestorAudio.getInstance().getVolumenMaestro());
     }
 
     private void togglePantallaCompleta() {
@@ -0,0 +1,35 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+
+/**
+ * Carpeta del usuario donde el juego escribe todos sus archivos.
+ *
+ * No se usa el almacenamiento local porque lwjgl3:run corre dentro de assets/,
+ * que tambien se empaqueta en el jar: lo escrito ahi terminaria dentro del juego.
+ */
+public final class CarpetaDatos {
+
+    // Relativa a la carpeta personal del usuario (almacenamiento externo)
+    public static final String NOMBRE = ".lluviacangri/";
+
+    private CarpetaDatos() {
+    }
+
+    /**
+     * Archivo o carpeta dentro de la carpeta de datos.
+     */
+    public static FileHandle archivo(String ruta) {
+        return Gdx.files.external(NOMBRE + ruta);
+    }
+
+    /**
+     * Lo mismo sin Gdx, para las herramientas que corren sin ventana.
+     */
+    public static File archivoSinGdx(String ruta) {
+        return new File(System.getProperty("user.home"), NOMBRE + ruta);
+    }
+}
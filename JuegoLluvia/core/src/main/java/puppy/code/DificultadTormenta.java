@@ -0,0 +1,49 @@
+package puppy.code;
+
+/**
+ * Configuracion de dificultad tormenta.
+ * Nivel de prueba de carga: crea unas mil gotas por segundo, en rafagas
+ * de varias gotas por paso, con muchas vidas para que la partida dure.
+ */
+public class DificultadTormenta implements NivelDificultad {
+    
+    @Override
+    public String getNombre() {
+        return "Tormenta";
+    }
+    
+    @Override
+    public float getVelocidadGotasBuenas() {
+        return 300f;
+    }
+    
+    @Override
+    public float getVelocidadGotasMalas() {
+        return 280f;
+    }
+    
+    @Override
+    public long getIntervaloCreacionGotas() {
+        return 1_000_000L;  // 1 milisegundo entre gotas (1000 gotas por segundo)
+    }
+    
+    @Override
+    public float getProbabilidadGotaBuena() {
+        return 0.7f;  // 70% de probabilidad de gota buena
+    }
+    
+    @Override
+    public int getVidasIniciales() {
+        return 99;
+    }
+    
+    @Override
+    public long getIntervaloPowerUps() {
+        return 500_000_000L;  // PowerUp cada 0.5 segundos
+    }
+    
+    @Override
+    public String getDescripcion() {
+        return "Prueba de carga: miles de gotas por segundo";
+    }
+}
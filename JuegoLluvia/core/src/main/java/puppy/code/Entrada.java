@@ -0,0 +1,12 @@
+package puppy.code;
+
+/**
+ * Estado de los controles del jugador que necesita la simulacion.
+ * La implementacion del juego lee el teclado (EntradaTeclado); otras
+ * implementaciones pueden reproducir una partida grabada o un bot.
+ */
+public interface Entrada {
+    boolean izquierda();
+
+    boolean derecha();
+}
@@ -0,0 +1,34 @@
+package puppy.code;
+
+/**
+ * Entrada que lee a otra una sola vez por paso de simulacion.
+ *
+ * El juego llama a muestrear() al empezar cada paso; durante el paso
+ * izquierda() y derecha() devuelven siempre lo mismo, y eso es exactamente
+ * lo que se guarda en la GrabacionPartida.
+ */
+public class EntradaMuestreada implements Entrada {
+
+    private final Entrada fuente;
+    private boolean izquierda;
+    private boolean derecha;
+
+    public EntradaMuestreada(Entrada fuente) {
+        this.fuente = fuente;
+    }
+
+    public void muestrear() {
+        izquierda = fuente.izquierda();
+        derecha = fuente.derecha();
+    }
+
+    @Override
+    public boolean izquierda() {
+        return izquierda;
+    }
+
+    @Override
+    public boolean derecha() {
+        return derecha;
+    }
+}
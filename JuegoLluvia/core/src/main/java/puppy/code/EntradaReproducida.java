@@ -0,0 +1,44 @@
+package puppy.code;
+
+/**
+ * Entrada que devuelve, paso a paso, los controles guardados en una GrabacionPartida.
+ * Se llama a avanzar() antes de cada paso de la simulacion.
+ */
+public class EntradaReproducida implements Entrada {
+
+    private final GrabacionPartida grabacion;
+    private int tramo = -1;
+    private int restantes;  // Pasos que faltan del tramo actual
+    private int bits;
+
+    public EntradaReproducida(GrabacionPartida grabacion) {
+        this.grabacion = grabacion;
+    }
+
+    /**
+     * Pasa al siguiente paso. Devuelve false si la grabacion ya no tiene mas pasos.
+     */
+    public boolean avanzar() {
+        while (restantes == 0) {
+            if (tramo + 1 >= grabacion.getCantidadTramos()) {
+                bits = 0;
+                return false;
+            }
+            tramo++;
+            restantes = grabacion.getLargoTramo(tramo);
+            bits = grabacion.getBitsTramo(tramo);
+        }
+        restantes--;
+        return true;
+    }
+
+    @Override
+    public boolean izquierda() {
+        return (bits & GrabacionPartida.IZQUIERDA) != 0;
+    }
+
+    @Override
+    public boolean derecha() {
+        return (bits & GrabacionPartida.DERECHA) != 0;
+    }
+}
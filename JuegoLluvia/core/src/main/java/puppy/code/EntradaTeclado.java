@@ -0,0 +1,20 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Entrada del jugador leida desde el teclado: A/D o las flechas izquierda/derecha.
+ */
+public class EntradaTeclado implements Entrada {
+
+    @Override
+    public boolean izquierda() {
+        return Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A);
+    }
+
+    @Override
+    public boolean derecha() {
+        return Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D);
+    }
+}
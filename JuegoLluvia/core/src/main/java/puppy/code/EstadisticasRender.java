@@ -0,0 +1,138 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.CharArray;
+
+/**
+ * Cuenta por frame cuantas veces se vacia el SpriteBatch compartido y,
+ * con el overlay visible, los cambios de textura y de shader que ve OpenGL.
+ *
+ * Los datos se guardan por estado de pantalla (usando las fases de estado de
+ * PerfiladorFrames). Si un estado pasa su limite de llamadas de dibujo se
+ * registra en el log una vez por cada nuevo maximo, asi una regresion en el
+ * agrupamiento de sprites aparece apenas se introduce.
+ */
+public class EstadisticasRender {
+
+    // Limite de llamadas de dibujo del SpriteBatch por frame para cada estado
+    private static final int UMBRAL_POR_DEFECTO = 12;
+    private static final int UMBRAL_JUEGO = 8;  // Fondo, atlas (varios lotes en Tormenta) y fuente del HUD
+
+    private final SpriteBatch batch;
+    private final GLProfiler profiler;
+
+    private final PerfiladorFrames.Fase[] fases = PerfiladorFrames.Fase.values();
+    private final int[] umbral = new int[fases.length];
+    private final int[] llamadas = new int[fases.length];
+    private final int[] maximoLlamadas = new int[fases.length];
+    private final int[] maximoSprites = new int[fases.length];
+    private final int[] texturas = new int[fases.length];
+    private final int[] shaders = new int[fases.length];
+    private final int[] maximoAvisado = new int[fases.length];
+    private final boolean[] visto = new boolean[fases.length];
+
+    private int totalAlIniciar;
+    private long avisos;
+
+    private final CharArray texto = new CharArray(512);
+    private TextoCacheado overlay;
+
+    public EstadisticasRender(SpriteBatch batch) {
+        this.batch = batch;
+        this.profiler = new GLProfiler(Gdx.graphics);
+        for (int f = 0; f < fases.length; f++) umbral[f] = UMBRAL_POR_DEFECTO;
+        umbral[PerfiladorFrames.Fase.JUEGO.ordinal()] = UMBRAL_JUEGO;
+    }
+
+    /**
+     * El GLProfiler intercepta cada llamada a OpenGL, por eso solo se activa
+     * mientras el overlay esta visible. Los contadores del SpriteBatch siempre estan.
+     */
+    public void setPerfilGL(boolean activo) {
+        if (activo && !profiler.isEnabled()) {
+            profiler.enable();
+        } else if (!activo && profiler.isEnabled()) {
+            profiler.disable();
+        }
+    }
+
+    public void inicioFrame() {
+        totalAlIniciar = batch.totalRenderCalls;
+        batch.maxSpritesInBatch = 0;
+        if (profiler.isEnabled()) profiler.reset();
+    }
+
+    /**
+     * Guarda los contadores del frame para el estado dado y avisa si se paso del limite.
+     * Debe llamarse antes de dibujar el overlay para no contarlo.
+     */
+    public void finFrame(PerfiladorFrames.Fase estado) {
+        int f = estado.ordinal();
+        int n = batch.totalRenderCalls - totalAlIniciar;
+        llamadas[f] = n;
+        visto[f] = true;
+        if (n > maximoLlamadas[f]) maximoLlamadas[f] = n;
+        if (batch.maxSpritesInBatch > maximoSprites[f]) maximoSprites[f] = batch.maxSpritesInBatch;
+        if (profiler.isEnabled()) {
+            texturas[f] = profiler.getTextureBindings();
+            shaders[f] = profiler.getShaderSwitches();
+        }
+
+        if (n > umbral[f] && n > maximoAvisado[f]) {
+            maximoAvisado[f] = n;
+            avisos++;
+            Gdx.app.log("EstadisticasRender", estado.name() + ": " + n
+                + " llamadas de dibujo en un frame (limite " + umbral[f] + ")");
+        }
+    }
+
+    public int getLlamadas(PerfiladorFrames.Fase estado) {
+        return llamadas[estado.ordinal()];
+    }
+
+    public int getMaximoLlamadas(PerfiladorFrames.Fase estado) {
+        return maximoLlamadas[estado.ordinal()];
+    }
+
+    /**
+     * Veces que algun estado paso su limite de llamadas de dibujo.
+     */
+    public long getAvisos() {
+        return avisos;
+    }
+
+    /**
+     * Dibuja una tabla por estado: llamadas del ultimo frame, maximo, sprites
+     * por lote y, si el GLProfiler esta activo, texturas y shaders. Al final agrega
+     * las texturas sueltas de RegistroTexturas y su memoria aproximada, para confirmar
+     * que no crecen durante la sesion. El batch debe estar iniciado.
+     */
+    public void dibujar(Batch destino, BitmapFont fuente, float x, float y) {
+        if (overlay == null) overlay = new TextoCacheado(fuente).en(x, y);
+
+        texto.setLength(0);
+        texto.append("estado  llam  max  spr  tex  shd");
+        for (int f = 0; f < fases.length; f++) {
+            if (!visto[f]) continue;
+            texto.append('\n').append(fases[f].name())
+                .append("  ").append(llamadas[f])
+                .append("  ").append(maximoLlamadas[f])
+                .append("  ").append(maximoSprites[f])
+                .append("  ").append(texturas[f])
+                .append("  ").append(shaders[f]);
+        }
+        RegistroTexturas registro = RegistroTexturas.getInstance();
+        texto.append("\ntexturas sueltas  ").append(registro.getTexturasVivas())
+            .append("  ").append(registro.getBytesVivos() / 1024).append(" KB");
+        overlay.setTexto(texto);
+        overlay.dibujar(destino);
+    }
+
+    public void dispose() {
+        if (profiler.isEnabled()) profiler.disable();
+    }
+}
@@ -0,0 +1,70 @@
+package puppy.code;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.CharArray;
+
+/**
+ * Muestra en el overlay de depuracion (F3) cuantas gotas y PowerUps hay vivos
+ * y cuanto trabajo le ahorra BroadphaseFranja a las colisiones: de las entidades
+ * revisadas, cuantas llegaron a la prueba exacta en x, cuantas chocaron y que
+ * porcentaje se descarto solo por su altura. Los numeros son del ultimo intervalo,
+ * no de toda la sesion, asi se ve el efecto de cambiar de dificultad.
+ */
+public class EstadisticasSimulacion {
+
+    private static final float INTERVALO = 0.5f;  // Segundos entre actualizaciones del texto
+
+    private final CharArray texto = new CharArray(256);
+    private TextoCacheado overlay;
+    private float tiempo = INTERVALO;
+
+    // Contadores de BroadphaseFranja al cerrar el intervalo anterior
+    private long entidadesPrevias;
+    private long pruebasPrevias;
+    private long colisionesPrevias;
+
+    /**
+     * Dibuja los contadores de la simulacion. El texto se reconstruye dos veces
+     * por segundo; el batch debe estar iniciado.
+     */
+    public void dibujar(Batch batch, BitmapFont fuente, float x, float y,
+                        SimulacionLluvia simulacion, float deltaTime) {
+        if (overlay == null) overlay = new TextoCacheado(fuente).en(x, y);
+
+        tiempo += deltaTime;
+        if (tiempo >= INTERVALO) {
+            tiempo = 0;
+            BroadphaseFranja broadphase = simulacion.getBroadphase();
+            long entidades = broadphase.getEntidades() - entidadesPrevias;
+            long pruebas = broadphase.getPruebas() - pruebasPrevias;
+            long colisiones = broadphase.getColisiones() - colisionesPrevias;
+            entidadesPrevias = broadphase.getEntidades();
+            pruebasPrevias = broadphase.getPruebas();
+            colisionesPrevias = broadphase.getColisiones();
+
+            texto.setLength(0);
+            texto.append("gotas  ").append(simulacion.getGotasBuenas().getCantidad())
+                .append(" + ").append(simulacion.getGotasMalas().getCantidad())
+                .append("  powerups  ").append(simulacion.getPowerUps().size);
+            texto.append("\nfranja  ").append(pruebas).append(" de ").append(entidades)
+                .append(" a prueba, ").append(colisiones).append(" choques");
+            texto.append("\ndescarte por altura  ");
+            agregarPorcentaje(texto, entidades - pruebas, entidades);
+            overlay.setTexto(texto);
+        }
+        overlay.dibujar(batch);
+    }
+
+    /**
+     * Agrega parte/total como porcentaje con un decimal, sin crear Strings.
+     */
+    private static void agregarPorcentaje(CharArray sb, long parte, long total) {
+        if (total == 0) {
+            sb.append('-');
+            return;
+        }
+        long milesimas = parte * 1000 / total;
+        sb.append(milesimas / 10).append('.').append(milesimas % 10).append('%');
+    }
+}
@@ -12,5 +12,11 @@ public interface EstrategiaMovimiento {
      * Mueve una gota segun la estrategia implementada.
      */
     void mover(Rectangle gota, float deltaTime);
+
+    /**
+     * Mueve de una vez las primeras {@code cantidad} gotas de la columna y.
+     * Se usa con AlmacenGotas para avanzar todas las gotas en un solo ciclo.
+     */
+    void moverLote(float[] y, int cantidad, float deltaTime);
 }
 
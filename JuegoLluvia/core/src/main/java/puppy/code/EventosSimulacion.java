@@ -0,0 +1,39 @@
+package puppy.code;
+
+/**
+ * Avisos que emite la simulacion para que las capas de dibujo y audio reaccionen.
+ * Todos los metodos tienen una implementacion vacia, asi cada escucha solo
+ * sobrescribe los eventos que le interesan.
+ */
+public interface EventosSimulacion {
+
+    /**
+     * Aparecio una gota nueva (tipo de AlmacenGotas) en la posicion x indicada.
+     */
+    default void gotaCreada(byte tipo, float x) {
+    }
+
+    /**
+     * El tarro atrapo una gota buena en la posicion indicada.
+     */
+    default void gotaAtrapada(float x, float y) {
+    }
+
+    /**
+     * El tarro perdio una vida.
+     */
+    default void danoRecibido(int vidasRestantes) {
+    }
+
+    /**
+     * Aparecio un PowerUp nuevo.
+     */
+    default void powerUpCreado(PowerUp powerUp) {
+    }
+
+    /**
+     * El tarro recogio un PowerUp (despues de aplicar su efecto).
+     */
+    default void powerUpRecogido(PowerUp powerUp) {
+    }
+}
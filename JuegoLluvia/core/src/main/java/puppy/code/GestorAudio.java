@@ -2,16 +2,72 @@ package puppy.code;
 
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
 
 /**
- * Gestiona el volumen del juego de forma centralizada.
+ * Gestiona el volumen y los efectos de sonido del juego de forma centralizada.
  * Solo existe una instancia de esta clase (patron Singleton) para que
  * todo el juego use el mismo volumen maestro.
+ *
+ * Los efectos se registran una vez en un banco (por id) con su duracion y un
+ * maximo de voces simultaneas. Ademas hay un presupuesto global de voces: si
+ * un sonido nuevo no cabe, se detiene la voz mas vieja (de ese sonido o de
+ * todas) en vez de pedirle otra fuente a OpenAL. Asi una lluvia de gotas
+ * atrapadas no agota las fuentes ni frena el hilo de dibujo.
+ *
+ * Durante la simulacion los sonidos no se reproducen de inmediato: solicitar()
+ * solo los anota. Al final del frame vaciarCola() emite un unico play por
+ * efecto, con un poco mas de volumen y tono si se pidio varias veces.
  */
 public class GestorAudio {
+
+    // Ids de los efectos del banco
+    public static final String GOTA = "gota";
+    public static final String DANO = "dano";
+
+    // OpenAL en lwjgl3 tiene 16 fuentes por defecto; se dejan libres para la musica
+    public static final int MAX_VOCES_GLOBALES = 12;
+
+    // Ajuste por cada solicitud repetida del mismo efecto en un frame
+    private static final float VOLUMEN_POR_REPETICION = 0.1f;
+    private static final float TONO_POR_REPETICION = 0.03f;
+    private static final float TONO_MAXIMO = 1.2f;
+
+    /**
+     * Un efecto del banco: el Sound ya cargado, su duracion y su limite de voces.
+     */
+    private static class EntradaSonido {
+        final Sound sonido;
+        final long duracionNanos;
+        final int maxVoces;
+        int vocesActivas;
+        int pendientes;  // Solicitudes de este frame que aun no se emitieron
+
+        EntradaSonido(Sound sonido, float duracion, int maxVoces) {
+            this.sonido = sonido;
+            this.duracionNanos = (long) (duracion * 1_000_000_000L);
+            this.maxVoces = maxVoces;
+        }
+    }
     
     private static GestorAudio instancia;
     private float volumenMaestro = 0.8f;  // Volumen por defecto: 80%
+
+    private final ObjectMap<String, EntradaSonido> banco = new ObjectMap<>();
+    private final Array<EntradaSonido> entradas = new Array<>();  // Para recorrer el banco sin iteradores
+    private boolean hayPendientes;
+
+    // Voces sonando, ordenadas de la mas vieja a la mas nueva
+    private final long[] idVoz = new long[MAX_VOCES_GLOBALES];
+    private final long[] finVoz = new long[MAX_VOCES_GLOBALES];
+    private final EntradaSonido[] sonidoVoz = new EntradaSonido[MAX_VOCES_GLOBALES];
+    private int voces;
+
+    // Contadores para ver el efecto de los limites
+    private long solicitudes;
+    private long reproducciones;
+    private long vocesRobadas;
     
     private GestorAudio() {
         // Constructor privado para evitar que se creen mas instancias
@@ -48,12 +104,155 @@ public class GestorAudio {
     }
     
     /**
-     * Reproduce un sonido con el volumen maestro aplicado.
+     * Agrega un efecto ya cargado al banco.
+     * @param duracion duracion del sonido en segundos (para saber cuando se libera su voz)
+     * @param maxVoces cuantas copias de este sonido pueden sonar a la vez
+     */
+    public void registrarSonido(String id, Sound sonido, float duracion, int maxVoces) {
+        EntradaSonido entrada = new EntradaSonido(sonido, duracion, maxVoces);
+        EntradaSonido anterior = banco.put(id, entrada);
+        if (anterior != null) entradas.removeValue(anterior, true);
+        entradas.add(entrada);
+    }
+
+    /**
+     * Pide reproducir un efecto del banco. Se emite al final del frame en vaciarCola().
+     */
+    public void solicitar(String id) {
+        EntradaSonido entrada = banco.get(id);
+        if (entrada == null) return;
+        entrada.pendientes++;
+        solicitudes++;
+        hayPendientes = true;
+    }
+
+    /**
+     * Emite los efectos pedidos en este frame: uno por efecto, aunque se haya pedido
+     * varias veces. Cada repeticion sube un poco el volumen y el tono de ese unico play.
+     * Se llama una vez al final de cada frame.
+     */
+    public void vaciarCola() {
+        if (!hayPendientes) return;
+        hayPendientes = false;
+
+        PerfiladorFrames.getInstance().iniciar(PerfiladorFrames.Fase.AUDIO);
+        long ahora = System.nanoTime();
+        liberarTerminadas(ahora);
+        for (int i = 0; i < entradas.size; i++) {
+            EntradaSonido entrada = entradas.get(i);
+            if (entrada.pendientes == 0) continue;
+            int repeticiones = entrada.pendientes - 1;
+            entrada.pendientes = 0;
+
+            float volumen = Math.min(1f, volumenMaestro * (1f + VOLUMEN_POR_REPETICION * repeticiones));
+            float tono = Math.min(TONO_MAXIMO, 1f + TONO_POR_REPETICION * repeticiones);
+            emitir(entrada, volumen, tono, ahora);
+        }
+        PerfiladorFrames.getInstance().terminar(PerfiladorFrames.Fase.AUDIO);
+    }
+
+    /**
+     * Reproduce un efecto del banco.
+     * Si el sonido o el presupuesto global no tienen voces libres, detiene la mas vieja.
+     */
+    private void emitir(EntradaSonido entrada, float volumen, float tono, long ahora) {
+        if (entrada.vocesActivas >= entrada.maxVoces) {
+            robarVoz(buscarMasVieja(entrada));
+        } else if (voces == MAX_VOCES_GLOBALES) {
+            robarVoz(0);
+        }
+
+        long voz = entrada.sonido.play(volumen, tono, 0f);
+        reproducciones++;
+        if (voz != -1) {
+            idVoz[voces] = voz;
+            // Con el tono mas alto el sonido termina antes
+            finVoz[voces] = ahora + (long) (entrada.duracionNanos / tono);
+            sonidoVoz[voces] = entrada;
+            entrada.vocesActivas++;
+            voces++;
+        }
+    }
+
+    /**
+     * Quita de la lista las voces cuyo sonido ya termino de sonar.
+     */
+    private void liberarTerminadas(long ahora) {
+        int j = 0;
+        for (int i = 0; i < voces; i++) {
+            if (finVoz[i] <= ahora) {
+                sonidoVoz[i].vocesActivas--;
+                continue;
+            }
+            idVoz[j] = idVoz[i];
+            finVoz[j] = finVoz[i];
+            sonidoVoz[j] = sonidoVoz[i];
+            j++;
+        }
+        for (int i = j; i < voces; i++) sonidoVoz[i] = null;
+        voces = j;
+    }
+
+    private int buscarMasVieja(EntradaSonido entrada) {
+        for (int i = 0; i < voces; i++) {
+            if (sonidoVoz[i] == entrada) return i;
+        }
+        return 0;
+    }
+
+    /**
+     * Detiene la voz indicada y la saca de la lista manteniendo el orden.
+     */
+    private void robarVoz(int indice) {
+        EntradaSonido entrada = sonidoVoz[indice];
+        entrada.sonido.stop(idVoz[indice]);
+        entrada.vocesActivas--;
+        vocesRobadas++;
+        int mover = voces - indice - 1;
+        System.arraycopy(idVoz, indice + 1, idVoz, indice, mover);
+        System.arraycopy(finVoz, indice + 1, finVoz, indice, mover);
+        System.arraycopy(sonidoVoz, indice + 1, sonidoVoz, indice, mover);
+        voces--;
+        sonidoVoz[voces] = null;
+    }
+
+    /**
+     * Detiene todos los efectos y vacia el banco. Los Sound pertenecen a GestorRecursos.
      */
-    public void reproducirSonido(Sound sonido) {
-        if (sonido != null) {
-            sonido.play(volumenMaestro);
+    public void vaciarBanco() {
+        for (int i = 0; i < voces; i++) {
+            sonidoVoz[i].sonido.stop(idVoz[i]);
+            sonidoVoz[i] = null;
         }
+        voces = 0;
+        banco.clear();
+        entradas.clear();
+        hayPendientes = false;
+    }
+
+    public int getVocesActivas() {
+        return voces;
+    }
+
+    /**
+     * Sonidos pedidos con solicitar().
+     */
+    public long getSolicitudes() {
+        return solicitudes;
+    }
+
+    /**
+     * Plays que llegaron a OpenAL (menos o igual que las solicitudes).
+     */
+    public long getReproducciones() {
+        return reproducciones;
+    }
+
+    /**
+     * Veces que se detuvo una voz para hacer lugar a otra.
+     */
+    public long getVocesRobadas() {
+        return vocesRobadas;
     }
 }
 
@@ -0,0 +1,146 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Pila de pantallas: solo la pantalla de arriba se actualiza, se dibuja
+ * y recibe los cambios de tamano de la ventana.
+ *
+ * Las pantallas de abajo quedan ocultas (se llamo a hide()) y no cuestan nada por frame;
+ * al volver a quedar arriba reciben show() y el tamano actual de la ventana.
+ * Los cambios pedidos durante un frame se aplican al terminarlo con aplicarCambios(),
+ * asi una pantalla nunca se oculta en medio de su propio render. Cada cambio se mide
+ * en la fase TRANSICION del perfilador.
+ */
+public class GestorPantallas {
+
+    private enum Operacion { NINGUNA, CAMBIAR, APILAR, DESAPILAR }
+
+    private final Array<Pantalla> pila = new Array<>(4);
+
+    private Operacion pendiente = Operacion.NINGUNA;
+    private Pantalla destino;
+
+    private int ancho, alto;
+    private int transiciones;
+    private long ultimaTransicionNanos;
+
+    /**
+     * Vacia la pila y deja solo la pantalla dada.
+     */
+    public void cambiar(Pantalla pantalla) {
+        pedir(Operacion.CAMBIAR, pantalla);
+    }
+
+    /**
+     * Muestra la pantalla por encima de la actual, que queda oculta hasta desapilar.
+     */
+    public void apilar(Pantalla pantalla) {
+        pedir(Operacion.APILAR, pantalla);
+    }
+
+    /**
+     * Vuelve a la pantalla de abajo. Si solo queda una pantalla no hace nada.
+     */
+    public void desapilar() {
+        pedir(Operacion.DESAPILAR, null);
+    }
+
+    // Si en un mismo frame se piden varios cambios, vale el primero
+    private void pedir(Operacion operacion, Pantalla pantalla) {
+        if (pendiente != Operacion.NINGUNA) return;
+        pendiente = operacion;
+        destino = pantalla;
+    }
+
+    /**
+     * Pantalla de arriba de la pila, o null si todavia no hay ninguna.
+     */
+    public Pantalla getActiva() {
+        return pila.size > 0 ? pila.peek() : null;
+    }
+
+    public void render(float delta) {
+        if (pila.size > 0) pila.peek().render(delta);
+    }
+
+    /**
+     * Aplica el cambio pedido durante el frame, si hay alguno.
+     */
+    public void aplicarCambios() {
+        if (pendiente == Operacion.NINGUNA) return;
+        Operacion operacion = pendiente;
+        Pantalla nueva = destino;
+        pendiente = Operacion.NINGUNA;
+        destino = null;
+        if (operacion == Operacion.DESAPILAR && pila.size < 2) return;
+
+        PerfiladorFrames perfilador = PerfiladorFrames.getInstance();
+        perfilador.iniciar(PerfiladorFrames.Fase.TRANSICION);
+        long inicio = System.nanoTime();
+
+        Pantalla anterior = getActiva();
+        if (anterior != null) anterior.hide();
+        switch (operacion) {
+            case CAMBIAR:
+                pila.clear();
+                pila.add(nueva);
+                break;
+            case APILAR:
+                pila.add(nueva);
+                break;
+            default:
+                pila.pop();
+                break;
+        }
+        Pantalla actual = pila.peek();
+        actual.show();
+        actual.resize(ancho, alto);
+
+        ultimaTransicionNanos = System.nanoTime() - inicio;
+        perfilador.terminar(PerfiladorFrames.Fase.TRANSICION);
+        transiciones++;
+        Gdx.app.debug("GestorPantallas", (anterior != null ? anterior.getNombre() : "-") + " -> "
+            + actual.getNombre() + " en " + ultimaTransicionNanos / 1000 + " us");
+    }
+
+    /**
+     * Guarda el tamano de la ventana y se lo pasa solo a la pantalla activa.
+     */
+    public void resize(int ancho, int alto) {
+        this.ancho = ancho;
+        this.alto = alto;
+        if (pila.size > 0) pila.peek().resize(ancho, alto);
+    }
+
+    public void pause() {
+        if (pila.size > 0) pila.peek().pause();
+    }
+
+    public void resume() {
+        if (pila.size > 0) pila.peek().resume();
+    }
+
+    public int getTransiciones() {
+        return transiciones;
+    }
+
+    /**
+     * Duracion del ultimo cambio de pantalla (hide, show y resize) en nanosegundos.
+     */
+    public long getUltimaTransicionNanos() {
+        return ultimaTransicionNanos;
+    }
+
+    /**
+     * Oculta la pantalla activa y vacia la pila. Las pantallas no son duenas
+     * de recursos compartidos, asi que no se llama a dispose() sobre ellas.
+     */
+    public void dispose() {
+        if (pila.size > 0) pila.peek().hide();
+        pila.clear();
+        pendiente = Operacion.NINGUNA;
+        destino = null;
+    }
+}
@@ -0,0 +1,232 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Carga los recursos del juego en segundo plano con el AssetManager de libGDX.
+ *
+ * Los recursos del menu principal se encolan primero, asi el menu se puede usar
+ * en cuanto estan listos mientras el resto (fondos, atlas y sonidos) sigue
+ * cargando unos milisegundos por frame. El AssetManager es dueno de todo lo que
+ * carga: nadie mas debe llamar dispose() sobre estos recursos.
+ *
+ * Si existe assets/cocinado/ (tarea cocinarAssets de Gradle) las imagenes se cargan
+ * desde ahi, ya reducidas a su tamano en pantalla y con el formato de pixel que
+ * indica formatos.txt (RGB565 para los fondos opacos). Si no, se usan las originales.
+ * Solo existe una instancia de esta clase (patron Singleton).
+ */
+public class GestorRecursos {
+
+    // Fondos de pantalla
+    public static final String FONDO_MENU = "Menu.png";
+    public static final String FONDO_OPCIONES = "Opciones.png";
+    public static final String FONDO_PAUSA = "Pausa.png";
+    public static final String FONDO_GAME_OVER = "GameOver.png";
+    public static final String FONDO_FACIL = "Facil.png";
+    public static final String FONDO_MEDIO = "Medio.png";
+    public static final String FONDO_DIFICIL = "Dificil.png";
+    public static final String BLANCO = "white.png";
+
+    // Solo del tutorial: se cargan al entrar y se liberan al salir
+    public static final String FLECHA_IZQUIERDA = "flechaizquierda.png";
+    public static final String FLECHA_DERECHA = "flechaDerecha.png";
+
+    // Sonidos y musica
+    public static final String SONIDO_GOTA = "drop.wav";
+    public static final String SONIDO_DANO = "hurt.ogg";
+    public static final String MUSICA_LLUVIA = "rain.mp3";
+
+    // Tiempo maximo por frame dedicado a cargar (el resto queda para dibujar)
+    private static final int PRESUPUESTO_MS = 8;
+
+    // Imagenes reducidas por la tarea cocinarAssets y su formato de pixel
+    private static final String CARPETA_COCINADO = "cocinado/";
+    private static final String FORMATOS_COCINADO = CARPETA_COCINADO + "formatos.txt";
+
+    private static GestorRecursos instancia;
+
+    private AssetManager manager;
+    private boolean encolado;
+    private boolean tutorialEncolado;
+
+    private final ObjectMap<String, Pixmap.Format> formatos = new ObjectMap<>();
+    private final ObjectMap<String, String> rutas = new ObjectMap<>();  // Nombre -> archivo cargado
+
+    private GestorRecursos() {
+        // Constructor privado para evitar que se creen mas instancias
+    }
+
+    /**
+     * Obtiene la unica instancia del gestor de recursos.
+     */
+    public static synchronized GestorRecursos getInstance() {
+        if (instancia == null) {
+            instancia = new GestorRecursos();
+        }
+        return instancia;
+    }
+
+    public AssetManager getAssetManager() {
+        if (manager == null) manager = new AssetManager();
+        return manager;
+    }
+
+    /**
+     * Encola todos los recursos, primero los del menu. Llamadas repetidas no hacen nada.
+     */
+    public void encolarTodo() {
+        if (encolado) return;
+        encolado = true;
+        AssetManager am = getAssetManager();
+        leerFormatos();
+
+        // Menu principal (lo primero que se muestra)
+        cargarTextura(FONDO_MENU);
+        cargarTextura(BLANCO);
+
+        // Juego
+        AtlasJuego.getInstance().encolar(am);
+        am.load(SONIDO_GOTA, Sound.class);
+        am.load(SONIDO_DANO, Sound.class);
+        am.load(MUSICA_LLUVIA, Music.class);
+        cargarTextura(FONDO_FACIL);
+        cargarTextura(FONDO_MEDIO);
+        cargarTextura(FONDO_DIFICIL);
+
+        // Resto de menus
+        cargarTextura(FONDO_OPCIONES);
+        cargarTextura(FONDO_PAUSA);
+        cargarTextura(FONDO_GAME_OVER);
+    }
+
+    /**
+     * Lee el formato de pixel de cada imagen cocinada (lineas "imagen=FORMATO").
+     * Si la carpeta no existe deja la tabla vacia y se cargan las imagenes originales.
+     */
+    private void leerFormatos() {
+        formatos.clear();
+        FileHandle archivo = Gdx.files.internal(FORMATOS_COCINADO);
+        if (!archivo.exists()) return;
+        for (String linea : archivo.readString().split("\n")) {
+            linea = linea.trim();
+            int igual = linea.indexOf('=');
+            if (linea.isEmpty() || linea.startsWith("#") || igual < 0) continue;
+            try {
+                formatos.put(linea.substring(0, igual), Pixmap.Format.valueOf(linea.substring(igual + 1)));
+            } catch (IllegalArgumentException e) {
+                Gdx.app.error("GestorRecursos", "Formato desconocido en " + FORMATOS_COCINADO + ": " + linea);
+            }
+        }
+    }
+
+    /**
+     * Encola una textura: la version cocinada con su formato si existe, si no la original.
+     */
+    private void cargarTextura(String nombre) {
+        Pixmap.Format formato = formatos.get(nombre);
+        if (formato == null) {
+            rutas.put(nombre, nombre);
+            getAssetManager().load(nombre, Texture.class);
+            return;
+        }
+        TextureLoader.TextureParameter parametros = new TextureLoader.TextureParameter();
+        parametros.format = formato;
+        rutas.put(nombre, CARPETA_COCINADO + nombre);
+        getAssetManager().load(CARPETA_COCINADO + nombre, Texture.class, parametros);
+    }
+
+    /**
+     * Archivo con el que se cargo la textura (original o cocinado).
+     */
+    private String ruta(String nombre) {
+        String ruta = rutas.get(nombre);
+        return ruta != null ? ruta : nombre;
+    }
+
+    /**
+     * Encola las texturas propias del tutorial. El resto (sprites y fondo)
+     * lo comparte con el juego.
+     */
+    public void encolarTutorial() {
+        if (tutorialEncolado) return;
+        tutorialEncolado = true;
+        cargarTextura(FLECHA_IZQUIERDA);
+        cargarTextura(FLECHA_DERECHA);
+    }
+
+    public boolean tutorialListo() {
+        AssetManager am = getAssetManager();
+        return tutorialEncolado && am.isLoaded(ruta(FLECHA_IZQUIERDA)) && am.isLoaded(ruta(FLECHA_DERECHA));
+    }
+
+    /**
+     * Libera las texturas propias del tutorial (o las saca de la cola si no terminaron).
+     */
+    public void liberarTutorial() {
+        if (!tutorialEncolado || manager == null) return;
+        tutorialEncolado = false;
+        manager.unload(ruta(FLECHA_IZQUIERDA));
+        manager.unload(ruta(FLECHA_DERECHA));
+    }
+
+    /**
+     * Avanza la carga durante como maximo PRESUPUESTO_MS. Devuelve true cuando termino todo.
+     */
+    public boolean actualizar() {
+        return getAssetManager().update(PRESUPUESTO_MS);
+    }
+
+    public boolean menuListo() {
+        AssetManager am = getAssetManager();
+        return am.isLoaded(ruta(FONDO_MENU)) && am.isLoaded(ruta(BLANCO));
+    }
+
+    public boolean terminado() {
+        return getAssetManager().isFinished();
+    }
+
+    /**
+     * Progreso de la carga entre 0 y 1.
+     */
+    public float getProgreso() {
+        return getAssetManager().getProgress();
+    }
+
+    /**
+     * Devuelve la textura si ya esta cargada, o null si todavia no.
+     */
+    public Texture getTextura(String nombre) {
+        AssetManager am = getAssetManager();
+        String ruta = ruta(nombre);
+        return am.isLoaded(ruta, Texture.class) ? am.get(ruta, Texture.class) : null;
+    }
+
+    public Sound getSonido(String ruta) {
+        return getAssetManager().get(ruta, Sound.class);
+    }
+
+    public Music getMusica(String ruta) {
+        return getAssetManager().get(ruta, Music.class);
+    }
+
+    /**
+     * Libera todo lo que cargo el AssetManager al cerrar el juego.
+     */
+    public void dispose() {
+        if (manager != null) {
+            manager.dispose();
+            manager = null;
+        }
+        encolado = false;
+        tutorialEncolado = false;
+        rutas.clear();
+    }
+}
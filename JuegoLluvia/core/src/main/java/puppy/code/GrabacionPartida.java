@@ -0,0 +1,268 @@
+package puppy.code;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Grabacion de una partida: todo lo necesario para volver a simularla paso a paso.
+ *
+ * Guarda la semilla del generador aleatorio, la dificultad, el paso fijo y las
+ * dimensiones de las entidades, y por cada paso de la simulacion los controles
+ * del jugador (izquierda/derecha) comprimidos en tramos de pasos iguales.
+ * Tambien guarda una marca cada vez que cambian los puntos o las vidas, que
+ * ReproductorPartida usa para comprobar que la repeticion da el mismo resultado.
+ */
+public class GrabacionPartida {
+
+    // Bits de entrada de cada paso
+    public static final int IZQUIERDA = 1;
+    public static final int DERECHA = 2;
+
+    private static final int MAGIA = 0x4C4C5250;  // "LLRP"
+    private static final int VERSION = 1;
+
+    // Cabecera: configuracion de la partida
+    private final long semilla;
+    private final String dificultad;
+    private final float paso;
+    private final float anchoTarro, altoTarro;
+    private final float anchoGotaBuena, altoGotaBuena;
+    private final float anchoGotaMala, altoGotaMala;
+    private final int vidasIniciales;
+
+    // Entrada: tramos de pasos consecutivos con los mismos bits
+    private final IntArray bitsTramo = new IntArray(64);
+    private final IntArray largoTramo = new IntArray(64);
+    private int pasos;
+
+    // Marcas: paso (contando desde 1) en el que cambiaron los puntos o las vidas
+    private final IntArray pasoMarca = new IntArray(64);
+    private final IntArray puntosMarca = new IntArray(64);
+    private final IntArray vidasMarca = new IntArray(64);
+    private int ultimosPuntos;
+    private int ultimasVidas;
+
+    public GrabacionPartida(long semilla, String dificultad, float paso,
+                            float anchoTarro, float altoTarro,
+                            float anchoGotaBuena, float altoGotaBuena,
+                            float anchoGotaMala, float altoGotaMala,
+                            int vidasIniciales) {
+        this.semilla = semilla;
+        this.dificultad = dificultad;
+        this.paso = paso;
+        this.anchoTarro = anchoTarro;
+        this.altoTarro = altoTarro;
+        this.anchoGotaBuena = anchoGotaBuena;
+        this.altoGotaBuena = altoGotaBuena;
+        this.anchoGotaMala = anchoGotaMala;
+        this.altoGotaMala = altoGotaMala;
+        this.vidasIniciales = vidasIniciales;
+        this.ultimasVidas = vidasIniciales;
+    }
+
+    /**
+     * Registra un paso ya simulado: la entrada que se uso y los puntos y vidas resultantes.
+     * No reserva memoria salvo cuando cambia la entrada o el marcador.
+     */
+    public void registrarPaso(boolean izquierda, boolean derecha, int puntos, int vidas) {
+        int bits = (izquierda ? IZQUIERDA : 0) | (derecha ? DERECHA : 0);
+        if (bitsTramo.size > 0 && bitsTramo.peek() == bits) {
+            largoTramo.incr(largoTramo.size - 1, 1);
+        } else {
+            bitsTramo.add(bits);
+            largoTramo.add(1);
+        }
+        pasos++;
+
+        if (puntos != ultimosPuntos || vidas != ultimasVidas) {
+            pasoMarca.add(pasos);
+            puntosMarca.add(puntos);
+            vidasMarca.add(vidas);
+            ultimosPuntos = puntos;
+            ultimasVidas = vidas;
+        }
+    }
+
+    // ============================================================
+    // ARCHIVO
+    // ============================================================
+
+    /**
+     * Escribe la grabacion. Los numeros de los tramos y las marcas usan
+     * enteros de largo variable, asi una partida de varios minutos ocupa pocos KB.
+     */
+    public void guardar(OutputStream destino) throws IOException {
+        DataOutputStream salida = new DataOutputStream(destino);
+        salida.writeInt(MAGIA);
+        salida.writeByte(VERSION);
+        salida.writeLong(semilla);
+        salida.writeUTF(dificultad);
+        salida.writeFloat(paso);
+        salida.writeFloat(anchoTarro);
+        salida.writeFloat(altoTarro);
+        salida.writeFloat(anchoGotaBuena);
+        salida.writeFloat(altoGotaBuena);
+        salida.writeFloat(anchoGotaMala);
+        salida.writeFloat(altoGotaMala);
+        escribirVarint(salida, vidasIniciales);
+        escribirVarint(salida, pasos);
+
+        escribirVarint(salida, bitsTramo.size);
+        for (int i = 0; i < bitsTramo.size; i++) {
+            salida.writeByte(bitsTramo.get(i));
+            escribirVarint(salida, largoTramo.get(i));
+        }
+
+        escribirVarint(salida, pasoMarca.size);
+        int pasoAnterior = 0;
+        for (int i = 0; i < pasoMarca.size; i++) {
+            escribirVarint(salida, pasoMarca.get(i) - pasoAnterior);
+            escribirVarint(salida, puntosMarca.get(i));
+            salida.writeShort(vidasMarca.get(i));
+            pasoAnterior = pasoMarca.get(i);
+        }
+        salida.flush();
+    }
+
+    /**
+     * Lee una grabacion escrita con guardar().
+     */
+    public static GrabacionPartida cargar(InputStream origen) throws IOException {
+        DataInputStream entrada = new DataInputStream(origen);
+        if (entrada.readInt() != MAGIA) throw new IOException("No es una grabacion de Juego Lluvia");
+        int version = entrada.readByte();
+        if (version != VERSION) throw new IOException("Version de grabacion no soportada: " + version);
+
+        long semilla = entrada.readLong();
+        String dificultad = entrada.readUTF();
+        float paso = entrada.readFloat();
+        float anchoTarro = entrada.readFloat();
+        float altoTarro = entrada.readFloat();
+        float anchoGotaBuena = entrada.readFloat();
+        float altoGotaBuena = entrada.readFloat();
+        float anchoGotaMala = entrada.readFloat();
+        float altoGotaMala = entrada.readFloat();
+        int vidasIniciales = leerVarint(entrada);
+        GrabacionPartida g = new GrabacionPartida(semilla, dificultad, paso, anchoTarro, altoTarro,
+            anchoGotaBuena, altoGotaBuena, anchoGotaMala, altoGotaMala, vidasIniciales);
+        g.pasos = leerVarint(entrada);
+
+        int tramos = leerVarint(entrada);
+        for (int i = 0; i < tramos; i++) {
+            g.bitsTramo.add(entrada.readByte());
+            g.largoTramo.add(leerVarint(entrada));
+        }
+
+        int marcas = leerVarint(entrada);
+        int pasoMarca = 0;
+        for (int i = 0; i < marcas; i++) {
+            pasoMarca += leerVarint(entrada);
+            g.pasoMarca.add(pasoMarca);
+            g.puntosMarca.add(leerVarint(entrada));
+            g.vidasMarca.add(entrada.readShort());
+        }
+        return g;
+    }
+
+    private static void escribirVarint(DataOutputStream salida, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            salida.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        salida.writeByte(valor);
+    }
+
+    private static int leerVarint(DataInputStream entrada) throws IOException {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 35; desplazamiento += 7) {
+            int b = entrada.readUnsignedByte();
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) return valor;
+        }
+        throw new IOException("Entero mal formado en la grabacion");
+    }
+
+    // ============================================================
+    // CONSULTAS
+    // ============================================================
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public String getDificultad() {
+        return dificultad;
+    }
+
+    public float getPaso() {
+        return paso;
+    }
+
+    public float getAnchoTarro() {
+        return anchoTarro;
+    }
+
+    public float getAltoTarro() {
+        return altoTarro;
+    }
+
+    public float getAnchoGotaBuena() {
+        return anchoGotaBuena;
+    }
+
+    public float getAltoGotaBuena() {
+        return altoGotaBuena;
+    }
+
+    public float getAnchoGotaMala() {
+        return anchoGotaMala;
+    }
+
+    public float getAltoGotaMala() {
+        return altoGotaMala;
+    }
+
+    public int getVidasIniciales() {
+        return vidasIniciales;
+    }
+
+    /**
+     * Pasos de simulacion grabados.
+     */
+    public int getPasos() {
+        return pasos;
+    }
+
+    public int getCantidadTramos() {
+        return bitsTramo.size;
+    }
+
+    public int getBitsTramo(int i) {
+        return bitsTramo.get(i);
+    }
+
+    public int getLargoTramo(int i) {
+        return largoTramo.get(i);
+    }
+
+    public int getCantidadMarcas() {
+        return pasoMarca.size;
+    }
+
+    public int getPasoMarca(int i) {
+        return pasoMarca.get(i);
+    }
+
+    public int getPuntosMarca(int i) {
+        return puntosMarca.get(i);
+    }
+
+    public int getVidasMarca(int i) {
+        return vidasMarca.get(i);
+    }
+}
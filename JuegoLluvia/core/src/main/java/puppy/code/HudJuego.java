@@ -0,0 +1,46 @@
+package puppy.code;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * Textos de la partida en curso: puntaje, vidas (con color segun cuantas quedan)
+ * y dificultad. Cada texto solo se vuelve a maquetar cuando cambia su valor.
+ */
+public class HudJuego {
+
+    private final TextoCacheado txtPuntaje;
+    private final TextoCacheado txtVidas;
+    private final TextoCacheado txtDificultad;
+
+    public HudJuego(BitmapFont fuente) {
+        txtPuntaje = new TextoCacheado(fuente, "Puntaje: ").en(10, 475);
+        txtVidas = new TextoCacheado(fuente, "Vidas: ").en(720, 475);
+        txtDificultad = new TextoCacheado(fuente, "Dificultad: ").en(10, 455);
+        txtDificultad.setColor(Color.CYAN);
+    }
+
+    /**
+     * Actualiza y dibuja los textos; el batch debe estar iniciado.
+     */
+    public void dibujar(Batch batch, int puntos, int vidas, NivelDificultad dificultad) {
+        txtPuntaje.setValor(puntos);
+        txtPuntaje.dibujar(batch);
+
+        // Vidas con color segun cantidad
+        if (vidas > 2) {
+            txtVidas.setColor(Color.GREEN);
+        } else if (vidas > 1) {
+            txtVidas.setColor(Color.YELLOW);
+        } else {
+            txtVidas.setColor(Color.RED);
+        }
+        txtVidas.setValor(vidas);
+        txtVidas.dibujar(batch);
+
+        // Mostrar dificultad actual
+        txtDificultad.setTexto(dificultad.getNombre());
+        txtDificultad.dibujar(batch);
+    }
+}
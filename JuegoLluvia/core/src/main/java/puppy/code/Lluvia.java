@@ -1,62 +1,51 @@
 package puppy.code;
 
 import com.badlogic.gdx.audio.Music;
-import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Gestiona las gotas que caen, los PowerUps y la musica de fondo.
- * Se encarga de crear gotas, moverlas, detectar colisiones y generar PowerUps.
+ * La logica (crear, mover, colisionar y puntuar) vive en SimulacionLluvia;
+ * esta clase le entrega el reloj de la partida, dibuja el resultado y
+ * reproduce los sonidos que corresponden a cada evento.
  */
-public class Lluvia {
+public class Lluvia implements EventosSimulacion {
 
-    private Texture texturaGotaBuena;
-    private Texture texturaGotaMala;
-    private Sound sonidoGota;
+    // Regiones del atlas del juego (comparten textura con el tarro y los PowerUps)
+    private TextureRegion texturaGotaBuena;
+    private TextureRegion texturaGotaMala;
+    // La musica pertenece al AssetManager (GestorRecursos); el sonido de la gota
+    // se reproduce desde el banco de GestorAudio
     private Music musicaLluvia;
 
-    // Listas de gotas activas en pantalla
-    private Array<Rectangle> gotasBuenas;
-    private Array<Rectangle> gotasMalas;
-    private long ultimoTiempoGota;  // Controla cuando crear la proxima gota
-    
-    // Estrategias de movimiento para las gotas (patron Strategy)
-    private EstrategiaMovimiento estrategiaBuena;
-    private EstrategiaMovimiento estrategiaMala;
-
-    // PowerUps que aparecen durante el juego
-    private Array<PowerUp> powerUps;
-    private long ultimoTiempoPowerUp;  // Controla cuando crear el proximo PowerUp
-    
-    // Configuracion de dificultad actual
-    private NivelDificultad nivelDificultad;
-
-    public Lluvia(Texture gotaBuena, Texture gotaMala, Sound sonidoGota, Music musicaLluvia) {
+    // Reloj de la partida: avanza solo con los pasos fijos de la simulacion
+    private final RelojSimulado reloj = new RelojSimulado();
+    private final SimulacionLluvia simulacion;
+
+    public Lluvia(TextureRegion gotaBuena, TextureRegion gotaMala, Music musicaLluvia) {
         this.texturaGotaBuena = gotaBuena;
         this.texturaGotaMala = gotaMala;
-        this.sonidoGota = sonidoGota;
         this.musicaLluvia = musicaLluvia;
-        this.nivelDificultad = new DificultadMedio();
+        this.simulacion = new SimulacionLluvia(
+            gotaBuena.getRegionWidth(), gotaBuena.getRegionHeight(),
+            gotaMala.getRegionWidth(), gotaMala.getRegionHeight(),
+            reloj, new RandomXS128());
+        this.simulacion.setEscucha(this);
+        Telemetria.getInstance().setReloj(reloj);
     }
 
     /**
      * Inicializa el sistema de lluvia y comienza a reproducir la musica.
      */
     public void crear() {
-        gotasBuenas = new Array<>();
-        gotasMalas = new Array<>();
-        powerUps = new Array<>();
-
-        // Configurar velocidades segun la dificultad
-        float velocidadBuena = nivelDificultad.getVelocidadGotasBuenas();
-        float velocidadMala = nivelDificultad.getVelocidadGotasMalas();
-        estrategiaBuena = new MovimientoNormal(velocidadBuena);
-        estrategiaMala = new MovimientoNormal(velocidadMala);
+        reloj.reiniciar();
+        // Antes de crear la simulacion, asi las primeras gotas quedan despues de este evento
+        Telemetria.getInstance().registrar(Telemetria.PARTIDA_NUEVA,
+            simulacion.getNivelDificultad().getVidasIniciales(), 0, 0);
+        simulacion.crear();
 
         // Iniciar musica de fondo
         if (musicaLluvia != null) {
@@ -64,174 +53,123 @@ public class Lluvia {
             GestorAudio.getInstance().aplicarVolumen(musicaLluvia);
             musicaLluvia.play();
         }
+    }
 
-        // Crear las primeras gotas para empezar el juego
-        crearGotaBuena();
-        crearGotaMala();
-        ultimoTiempoPowerUp = TimeUtils.nanoTime();
+    /**
+     * Semilla de la proxima partida; se llama antes de crear().
+     */
+    public void setSemilla(long semilla) {
+        simulacion.setSemilla(semilla);
     }
-    
+
     /**
      * Cambia la dificultad del juego y actualiza las velocidades de las gotas.
      */
     public void setNivelDificultad(NivelDificultad nivel) {
-        this.nivelDificultad = nivel;
-        if (estrategiaBuena != null && estrategiaMala != null) {
-            estrategiaBuena = new MovimientoNormal(nivel.getVelocidadGotasBuenas());
-            estrategiaMala = new MovimientoNormal(nivel.getVelocidadGotasMalas());
-        }
+        simulacion.setNivelDificultad(nivel);
     }
-    
+
     public NivelDificultad getNivelDificultad() {
-        return nivelDificultad;
+        return simulacion.getNivelDificultad();
     }
 
     /**
-     * Crea una nueva gota buena en una posicion aleatoria en la parte superior.
+     * Avanza el reloj de la partida y actualiza gotas y PowerUps.
+     * Este metodo se llama una vez por cada paso fijo de la simulacion.
      */
-    private void crearGotaBuena() {
-        Rectangle gota = new Rectangle();
-        float ancho = texturaGotaBuena.getWidth();
-        float alto = texturaGotaBuena.getHeight();
-        gota.x = MathUtils.random(0, 800 - ancho);
-        gota.y = 480;
-        gota.width = ancho;
-        gota.height = alto;
-        gotasBuenas.add(gota);
-        ultimoTiempoGota = TimeUtils.nanoTime();
+    public void actualizarMovimiento(Tarro tarro, float deltaTime) {
+        reloj.avanzar(deltaTime);
+        simulacion.actualizar(tarro.getSimulacion(), deltaTime);
     }
 
     /**
-     * Crea una nueva gota mala en una posicion aleatoria en la parte superior.
+     * Dibuja todas las gotas y PowerUps en pantalla.
+     * Las posiciones se interpolan entre los dos ultimos pasos de la simulacion segun alfa.
      */
-    private void crearGotaMala() {
-        Rectangle gota = new Rectangle();
-        float ancho = texturaGotaMala.getWidth();
-        float alto = texturaGotaMala.getHeight();
-        gota.x = MathUtils.random(0, 800 - ancho);
-        gota.y = 480;
-        gota.width = ancho;
-        gota.height = alto;
-        gotasMalas.add(gota);
+    public void actualizarDibujoLluvia(SpriteBatch batch, float alfa) {
+        dibujarGotas(batch, simulacion.getGotasBuenas(), texturaGotaBuena, alfa);
+        dibujarGotas(batch, simulacion.getGotasMalas(), texturaGotaMala, alfa);
+
+        Array<PowerUp> powerUps = simulacion.getPowerUps();
+        for (int i = 0; i < powerUps.size; i++)
+            powerUps.get(i).dibujar(batch, alfa);
     }
 
-    /**
-     * Crea un PowerUp aleatorio (vida o puntos) en la parte superior.
-     */
-    private void crearPowerUp() {
-        float x = MathUtils.random(0, 800 - 48);
-        float y = 480;
-
-        // Probabilidad 50/50 entre vida y puntos
-        if (MathUtils.randomBoolean(0.5f)) {
-            powerUps.add(new PowerUpVida(x, y));
-        } else {
-            powerUps.add(new PowerUpPuntos(x, y));
-        }
+    private void dibujarGotas(SpriteBatch batch, AlmacenGotas gotas, TextureRegion textura, float alfa) {
+        float[] x = gotas.getX();
+        float[] y = gotas.getY();
+        float[] yAnterior = gotas.getYAnterior();
+        float[] ancho = gotas.getAncho();
+        float[] alto = gotas.getAlto();
+        for (int i = 0, n = gotas.getCantidad(); i < n; i++)
+            batch.draw(textura, x[i], yAnterior[i] + (y[i] - yAnterior[i]) * alfa, ancho[i], alto[i]);
     }
 
     /**
-     * Actualiza todas las gotas y PowerUps: las mueve, detecta colisiones y crea nuevas.
-     * Este metodo se llama cada frame durante el juego.
+     * Reproduce el sonido de la gota cuando la simulacion avisa que se atrapo una.
+     * GestorAudio junta las gotas del mismo frame en un solo sonido.
      */
-    public void actualizarMovimiento(Tarro tarro) {
-        // Crear nuevas gotas segun el intervalo configurado por la dificultad
-        long intervalo = nivelDificultad.getIntervaloCreacionGotas();
-        if (TimeUtils.nanoTime() - ultimoTiempoGota > intervalo) {
-            float probabilidad = nivelDificultad.getProbabilidadGotaBuena();
-            if (MathUtils.randomBoolean(probabilidad))
-                crearGotaBuena();
-            else
-                crearGotaMala();
-        }
+    @Override
+    public void gotaAtrapada(float x, float y) {
+        GestorAudio.getInstance().solicitar(GestorAudio.GOTA);
+        Telemetria.getInstance().registrar(Telemetria.GOTA_ATRAPADA, 0, x, y);
+    }
 
-        // Actualizar gotas buenas
-        float deltaTime = com.badlogic.gdx.Gdx.graphics.getDeltaTime();
-        for (int i = gotasBuenas.size - 1; i >= 0; i--) {
-            Rectangle gota = gotasBuenas.get(i);
-            estrategiaBuena.mover(gota, deltaTime);
-
-            // Eliminar gotas que salieron de la pantalla
-            if (gota.y + gota.height < 0) {
-                gotasBuenas.removeIndex(i);
-                continue;
-            }
-
-            // Detectar colision con el tarro
-            if (gota.overlaps(tarro.getRectangulo())) {
-                tarro.sumarPunto();
-                reproducirSonido();
-                gotasBuenas.removeIndex(i);
-            }
-        }
+    @Override
+    public void gotaCreada(byte tipo, float x) {
+        Telemetria.getInstance().registrar(Telemetria.GOTA_CREADA, tipo, x, SimulacionLluvia.ALTO_MUNDO);
+    }
 
-        // Actualizar gotas malas
-        for (int i = gotasMalas.size - 1; i >= 0; i--) {
-            Rectangle gota = gotasMalas.get(i);
-            estrategiaMala.mover(gota, deltaTime);
+    @Override
+    public void powerUpCreado(PowerUp powerUp) {
+        Telemetria.getInstance().registrar(Telemetria.POWERUP_CREADO, tipoTelemetria(powerUp),
+            powerUp.rect.x, powerUp.rect.y);
+    }
 
-            if (gota.y + gota.height < 0) {
-                gotasMalas.removeIndex(i);
-                continue;
-            }
+    @Override
+    public void powerUpRecogido(PowerUp powerUp) {
+        Telemetria.getInstance().registrar(Telemetria.POWERUP_RECOGIDO, tipoTelemetria(powerUp),
+            powerUp.rect.x, powerUp.rect.y);
+    }
 
-            if (gota.overlaps(tarro.getRectangulo())) {
-                tarro.restarVida();
-                gotasMalas.removeIndex(i);
-            }
-        }
+    private static int tipoTelemetria(PowerUp powerUp) {
+        return powerUp instanceof PowerUpVida ? Telemetria.POWERUP_VIDA : Telemetria.POWERUP_PUNTOS;
+    }
 
-        // Crear PowerUps segun el intervalo de la dificultad
-        long intervaloPowerUp = nivelDificultad.getIntervaloPowerUps();
-        if (TimeUtils.nanoTime() - ultimoTiempoPowerUp > intervaloPowerUp) {
-            crearPowerUp();
-            ultimoTiempoPowerUp = TimeUtils.nanoTime();
-        }
+    public SimulacionLluvia getSimulacion() {
+        return simulacion;
+    }
 
-        // Actualizar PowerUps
-        float dt = com.badlogic.gdx.Gdx.graphics.getDeltaTime();
-        for (int i = powerUps.size - 1; i >= 0; i--) {
-            PowerUp p = powerUps.get(i);
-            p.actualizar(dt);
-
-            if (p.estaFueraPantalla()) {
-                powerUps.removeIndex(i);
-                continue;
-            }
-
-            if (p.colisionaCon(tarro)) {
-                p.activar(tarro);
-                powerUps.removeIndex(i);
-            }
-        }
+    /**
+     * Veces que una gota nueva ocupo un espacio ya reservado en los almacenes.
+     */
+    public long getAciertosPoolGotas() {
+        return simulacion.getAciertosPoolGotas();
     }
 
     /**
-     * Dibuja todas las gotas y PowerUps en pantalla.
+     * Veces que hubo que agrandar los almacenes de gotas.
+     * En estado estable este valor deja de crecer.
      */
-    public void actualizarDibujoLluvia(SpriteBatch batch) {
-        for (Rectangle gota : gotasBuenas)
-            batch.draw(texturaGotaBuena, gota.x, gota.y, gota.width, gota.height);
-        for (Rectangle gota : gotasMalas)
-            batch.draw(texturaGotaMala, gota.x, gota.y, gota.width, gota.height);
+    public long getFallosPoolGotas() {
+        return simulacion.getFallosPoolGotas();
+    }
 
-        for (PowerUp p : powerUps)
-            p.dibujar(batch);
+    public int getCantidadGotasBuenas() {
+        return simulacion.getGotasBuenas().getCantidad();
     }
 
-    private void reproducirSonido() {
-        GestorAudio.getInstance().reproducirSonido(sonidoGota);
+    public int getCantidadGotasMalas() {
+        return simulacion.getGotasMalas().getCantidad();
     }
 
     /**
-     * Libera todos los recursos al cerrar el juego.
+     * Detiene la musica y suelta los PowerUps al cerrar el juego.
+     * Las texturas se liberan con AtlasJuego y el audio con GestorRecursos.
      */
     public void destruir() {
-        if (texturaGotaBuena != null) texturaGotaBuena.dispose();
-        if (texturaGotaMala != null) texturaGotaMala.dispose();
-        if (sonidoGota != null) sonidoGota.dispose();
-        if (musicaLluvia != null) musicaLluvia.dispose();
-        for (PowerUp p : powerUps) p.dispose();
+        if (musicaLluvia != null) musicaLluvia.stop();
+        simulacion.destruir();
     }
 
     public void setVolumen(float nuevoVolumen) {
@@ -0,0 +1,99 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+
+/**
+ * Menu de Scene2D que se construye la primera vez que se muestra
+ * y se libera cuando pasa un tiempo sin usarse.
+ *
+ * Los estilos viven en el Skin compartido de CangriMain, asi que construir
+ * un menu solo crea sus actores. Mientras se juega no queda ningun menu en memoria:
+ * el Stage, su viewport y sus actores se liberan y se rearman al volver.
+ */
+public class MenuPerezoso {
+
+    /**
+     * Arma los actores del menu dentro del Stage recien creado.
+     */
+    public interface Constructor {
+        void construir(Stage escena);
+    }
+
+    // Segundos sin mostrarse antes de liberar el menu
+    public static final float SEGUNDOS_SIN_USO = 30f;
+
+    private final String nombre;
+    private final Batch batch;
+    private final Constructor constructor;
+
+    private Stage escena;
+    private FitViewport viewport;
+    private float sinUso;
+    private int construcciones;
+
+    public MenuPerezoso(String nombre, Batch batch, Constructor constructor) {
+        this.nombre = nombre;
+        this.batch = batch;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Devuelve el Stage del menu, construyendolo si hace falta, y lo marca como usado.
+     */
+    public Stage obtener() {
+        if (escena == null) {
+            viewport = new FitViewport(800, 480);
+            escena = new Stage(viewport, batch);
+            constructor.construir(escena);
+            viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
+            construcciones++;
+            Gdx.app.debug("MenuPerezoso", nombre + " construido (" + construcciones + ")");
+        }
+        sinUso = 0;
+        return escena;
+    }
+
+    /**
+     * Viewport del menu. Solo es valido despues de obtener().
+     */
+    public FitViewport getViewport() {
+        return viewport;
+    }
+
+    public boolean estaConstruido() {
+        return escena != null;
+    }
+
+    /**
+     * Veces que se construyo el menu desde que empezo el juego.
+     */
+    public int getConstrucciones() {
+        return construcciones;
+    }
+
+    /**
+     * Suma el tiempo del frame y libera el menu si lleva SEGUNDOS_SIN_USO sin mostrarse.
+     * El menu visible llama a obtener() cada frame, asi que nunca llega al limite.
+     */
+    public void actualizarSinUso(float delta) {
+        if (escena == null) return;
+        sinUso += delta;
+        if (sinUso >= SEGUNDOS_SIN_USO) liberar();
+    }
+
+    public void redimensionar(int ancho, int alto) {
+        if (viewport != null) viewport.update(ancho, alto, true);
+    }
+
+    public void liberar() {
+        if (escena == null) return;
+        if (Gdx.input.getInputProcessor() == escena) Gdx.input.setInputProcessor(null);
+        escena.dispose();
+        escena = null;
+        viewport = null;
+        Gdx.app.debug("MenuPerezoso", nombre + " liberado");
+    }
+}
@@ -17,5 +17,13 @@ public class MovimientoNormal implements EstrategiaMovimiento {
     public void mover(Rectangle gota, float deltaTime) {
         gota.y -= velocidad * deltaTime;
     }
+
+    @Override
+    public void moverLote(float[] y, int cantidad, float deltaTime) {
+        float desplazamiento = velocidad * deltaTime;
+        for (int i = 0; i < cantidad; i++) {
+            y[i] -= desplazamiento;
+        }
+    }
 }
 
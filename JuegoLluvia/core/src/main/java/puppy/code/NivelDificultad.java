@@ -42,5 +42,19 @@ public interface NivelDificultad {
      * Descripcion breve del nivel de dificultad para mostrar en el menu.
      */
     String getDescripcion();
+
+    /**
+     * Crea la dificultad con el nombre dado (el que devuelve getNombre()),
+     * por ejemplo al leer una partida grabada.
+     */
+    static NivelDificultad porNombre(String nombre) {
+        switch (nombre) {
+            case "Facil": return new DificultadFacil();
+            case "Medio": return new DificultadMedio();
+            case "Dificil": return new DificultadDificil();
+            case "Tormenta": return new DificultadTormenta();
+            default: throw new IllegalArgumentException("Dificultad desconocida: " + nombre);
+        }
+    }
 }
 
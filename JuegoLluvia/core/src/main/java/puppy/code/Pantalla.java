@@ -0,0 +1,31 @@
+package puppy.code;
+
+import com.badlogic.gdx.ScreenAdapter;
+
+/**
+ * Pantalla del juego manejada por GestorPantallas.
+ *
+ * Cada pantalla se mide en el perfilador con su propia fase, asi los tiempos
+ * y las llamadas de dibujo se pueden comparar pantalla por pantalla.
+ */
+public abstract class Pantalla extends ScreenAdapter {
+
+    private final String nombre;
+    private final PerfiladorFrames.Fase fase;
+
+    protected Pantalla(String nombre, PerfiladorFrames.Fase fase) {
+        this.nombre = nombre;
+        this.fase = fase;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Fase del perfilador que mide el render de esta pantalla.
+     */
+    public PerfiladorFrames.Fase getFase() {
+        return fase;
+    }
+}
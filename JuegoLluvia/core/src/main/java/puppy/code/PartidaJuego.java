@@ -0,0 +1,164 @@
+package puppy.code;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * La partida en curso y su frame: avanza la simulacion en pasos fijos y dibuja
+ * el fondo de la dificultad, el tarro, la lluvia y el HUD.
+ *
+ * CangriMain la usa en la pantalla de juego y PruebaAsignaciones mide este mismo
+ * frame, asi la prueba de memoria no depende de una copia del codigo del juego.
+ * Lo que es propio de la pantalla (fin de partida, pausa, grabacion) queda en
+ * quien la usa; para eso se puede pedir un aviso despues de cada paso fijo.
+ */
+public class PartidaJuego {
+
+    private final SpriteBatch batch;
+    private final OrthographicCamera camara;
+    private final HudJuego hud;
+    private final EntradaMuestreada entrada;
+    private final TextureRegion regionTarro;
+    private final Lluvia lluvia;
+    private final BucleFijo bucle = new BucleFijo();
+    private BucleFijo.Simulable despuesDelPaso;
+
+    private Texture fondoFacil;
+    private Texture fondoMedio;
+    private Texture fondoDificil;
+
+    private Tarro tarro;
+
+    // La entrada se lee una vez por paso, antes de mover el tarro
+    private final BucleFijo.Simulable paso = new BucleFijo.Simulable() {
+        @Override
+        public void actualizar(float p) {
+            entrada.muestrear();
+            tarro.actualizarMovimiento(p);
+            lluvia.actualizarMovimiento(tarro, p);
+            if (despuesDelPaso != null) despuesDelPaso.actualizar(p);
+        }
+    };
+
+    public PartidaJuego(SpriteBatch batch, OrthographicCamera camara, BitmapFont fuente,
+                        EntradaMuestreada entrada, TextureRegion regionTarro, Lluvia lluvia) {
+        this.batch = batch;
+        this.camara = camara;
+        this.hud = new HudJuego(fuente);
+        this.entrada = entrada;
+        this.regionTarro = regionTarro;
+        this.lluvia = lluvia;
+    }
+
+    /**
+     * Fondos de cada dificultad (Tormenta usa el de Dificil). Si falta alguno se
+     * limpia la pantalla con un color solido.
+     */
+    public void setFondos(Texture facil, Texture medio, Texture dificil) {
+        this.fondoFacil = facil;
+        this.fondoMedio = medio;
+        this.fondoDificil = dificil;
+    }
+
+    /**
+     * Logica extra que se ejecuta al final de cada paso fijo, con el tarro y la lluvia ya movidos.
+     */
+    public void setDespuesDelPaso(BucleFijo.Simulable despuesDelPaso) {
+        this.despuesDelPaso = despuesDelPaso;
+    }
+
+    /**
+     * Empieza una partida nueva con un tarro nuevo y la lluvia reiniciada.
+     */
+    public void reiniciar(NivelDificultad nivel, long semilla) {
+        tarro = new Tarro(regionTarro, entrada);
+        tarro.crear();
+        tarro.setVidasIniciales(nivel.getVidasIniciales());
+
+        lluvia.setNivelDificultad(nivel);
+        lluvia.setSemilla(semilla);
+        lluvia.crear();
+        bucle.reiniciar();
+    }
+
+    /**
+     * Avanza la simulacion con el tiempo del frame y dibuja la partida.
+     */
+    public void frame(float deltaTime) {
+        // Avanzar la simulacion en pasos fijos antes de dibujar
+        PerfiladorFrames perfilador = PerfiladorFrames.getInstance();
+        perfilador.iniciar(PerfiladorFrames.Fase.SIMULACION);
+        bucle.avanzar(deltaTime, paso);
+        perfilador.terminar(PerfiladorFrames.Fase.SIMULACION);
+        float alfa = bucle.getAlfa();
+
+        // Envio de sprites al SpriteBatch: fondo, entidades y HUD
+        perfilador.iniciar(PerfiladorFrames.Fase.DIBUJO_JUEGO);
+
+        camara.update();
+        batch.setProjectionMatrix(camara.combined);
+
+        // Determinar y dibujar fondo según dificultad
+        NivelDificultad nivel = lluvia.getNivelDificultad();
+        batch.begin();
+        Texture fondoActual = null;
+        if (nivel instanceof DificultadFacil) {
+            fondoActual = fondoFacil;
+        } else if (nivel instanceof DificultadDificil
+                || nivel instanceof DificultadTormenta) {
+            fondoActual = fondoDificil;
+        } else {
+            fondoActual = fondoMedio;
+        }
+
+        // Dibujar fondo si existe, si no usar color sólido como fallback
+        if (fondoActual != null) {
+            batch.draw(fondoActual, 0, 0, 800, 480);
+        } else {
+            // Fallback a colores sólidos si no hay fondo
+            batch.end();
+            if (nivel instanceof DificultadFacil) {
+                ScreenUtils.clear(0, 0.1f, 0.2f, 1);
+            } else if (nivel instanceof DificultadDificil
+                    || nivel instanceof DificultadTormenta) {
+                ScreenUtils.clear(0.2f, 0, 0, 1);
+            } else {
+                ScreenUtils.clear(0, 0, 0.2f, 1);
+            }
+            batch.begin();
+        }
+        // Dibujar entidades interpoladas entre los dos ultimos pasos
+        // Todas salen del mismo atlas, asi que se dibujan sin cambiar de textura
+        tarro.dibujar(batch, alfa);
+        lluvia.actualizarDibujoLluvia(batch, alfa);
+
+        // Información del juego con mejor formato (al final, por encima de las entidades)
+        hud.dibujar(batch, tarro.getPuntos(), tarro.getVidas(), nivel);
+        batch.end();
+        perfilador.terminar(PerfiladorFrames.Fase.DIBUJO_JUEGO);
+    }
+
+    public Tarro getTarro() {
+        return tarro;
+    }
+
+    public Lluvia getLluvia() {
+        return lluvia;
+    }
+
+    /**
+     * Duracion del paso fijo de la simulacion en segundos.
+     */
+    public float getPaso() {
+        return bucle.getPaso();
+    }
+
+    public void destruir() {
+        if (tarro != null) tarro.destruir();
+        lluvia.destruir();
+    }
+}
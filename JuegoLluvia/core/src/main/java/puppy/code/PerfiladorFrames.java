@@ -0,0 +1,252 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.CharArray;
+
+/**
+ * Mide cuanto tarda cada fase de un frame (simulacion, dibujo, Scene2D, audio)
+ * y cada pantalla de GestorPantallas, mas lo que cuesta cambiar de pantalla.
+ *
+ * Cada fase guarda dos histogramas de latencia con cubetas de 10 microsegundos:
+ * uno de ventana movil (los ultimos VENTANA frames) para el overlay y otro de
+ * toda la sesion para exportar a CSV al cerrar. Medir y calcular percentiles
+ * no reserva memoria, asi el perfilador no altera lo que mide.
+ *
+ * Solo existe una instancia (patron Singleton) para que cualquier clase,
+ * por ejemplo GestorAudio, pueda medir su propia fase.
+ */
+public class PerfiladorFrames {
+
+    /**
+     * Fases medidas. Una fase puede medirse varias veces en un frame
+     * (por ejemplo un paso de simulacion por cada paso fijo); los tiempos se suman
+     * y al final del frame se registran como una sola muestra.
+     */
+    public enum Fase {
+        FRAME,
+        SIMULACION,
+        DIBUJO_JUEGO,
+        STAGE_ACT,
+        STAGE_DRAW,
+        AUDIO,
+        TRANSICION,
+        CARGA,
+        MENU,
+        SELECCION_DIFICULTAD,
+        OPCIONES,
+        TUTORIAL,
+        JUEGO,
+        PAUSA,
+        GAME_OVER
+    }
+
+    public static final int VENTANA = 600;  // Frames en la ventana movil (~10 s a 60 FPS)
+
+    private static final long ANCHO_CUBETA_NANOS = 10_000L;  // 10 microsegundos
+    private static final int CUBETAS = 5000;  // Hasta 50 ms; lo demas cae en la ultima cubeta
+    private static final float INTERVALO_OVERLAY = 0.5f;  // Segundos entre actualizaciones del texto
+
+    private static PerfiladorFrames instancia;
+
+    private final Fase[] fases = Fase.values();
+    private final long[] inicio = new long[fases.length];
+    private final long[] acumulado = new long[fases.length];
+    private final boolean[] medidaEnFrame = new boolean[fases.length];
+
+    // Ventana movil: ultimas muestras de cada fase y su histograma
+    private final long[][] muestras = new long[fases.length][VENTANA];
+    private final int[] posicion = new int[fases.length];
+    private final int[] llenas = new int[fases.length];
+    private final int[][] histogramaVentana = new int[fases.length][CUBETAS];
+
+    // Toda la sesion
+    private final long[][] histogramaSesion = new long[fases.length][CUBETAS];
+    private final long[] totalSesion = new long[fases.length];
+    private final long[] sumaSesion = new long[fases.length];
+    private final long[] maximoSesion = new long[fases.length];
+
+    // Overlay
+    private boolean visible;
+    private float tiempoOverlay = INTERVALO_OVERLAY;
+    private final CharArray textoOverlay = new CharArray(1024);
+    private TextoCacheado overlay;
+
+    private PerfiladorFrames() {
+        // Constructor privado para evitar que se creen mas instancias
+    }
+
+    public static synchronized PerfiladorFrames getInstance() {
+        if (instancia == null) {
+            instancia = new PerfiladorFrames();
+        }
+        return instancia;
+    }
+
+    public void iniciar(Fase fase) {
+        inicio[fase.ordinal()] = System.nanoTime();
+    }
+
+    public void terminar(Fase fase) {
+        int f = fase.ordinal();
+        acumulado[f] += System.nanoTime() - inicio[f];
+        medidaEnFrame[f] = true;
+    }
+
+    /**
+     * Registra como una muestra el tiempo acumulado de cada fase medida en este frame.
+     */
+    public void finFrame(float deltaTime) {
+        for (int f = 0; f < fases.length; f++) {
+            if (!medidaEnFrame[f]) continue;
+            registrar(f, acumulado[f]);
+            acumulado[f] = 0;
+            medidaEnFrame[f] = false;
+        }
+        tiempoOverlay += deltaTime;
+    }
+
+    private void registrar(int f, long nanos) {
+        int cubeta = cubeta(nanos);
+
+        // Sacar de la ventana la muestra mas vieja si ya esta llena
+        if (llenas[f] == VENTANA) {
+            histogramaVentana[f][cubeta(muestras[f][posicion[f]])]--;
+        } else {
+            llenas[f]++;
+        }
+        muestras[f][posicion[f]] = nanos;
+        posicion[f] = (posicion[f] + 1) % VENTANA;
+        histogramaVentana[f][cubeta]++;
+
+        histogramaSesion[f][cubeta]++;
+        totalSesion[f]++;
+        sumaSesion[f] += nanos;
+        if (nanos > maximoSesion[f]) maximoSesion[f] = nanos;
+    }
+
+    private static int cubeta(long nanos) {
+        long c = nanos / ANCHO_CUBETA_NANOS;
+        return c >= CUBETAS ? CUBETAS - 1 : (int) c;
+    }
+
+    /**
+     * Percentil de la ventana movil en nanosegundos (limite superior de la cubeta).
+     */
+    public long percentilVentana(Fase fase, float percentil) {
+        int f = fase.ordinal();
+        int objetivo = (int) Math.ceil(llenas[f] * percentil);
+        int visto = 0;
+        for (int c = 0; c < CUBETAS; c++) {
+            visto += histogramaVentana[f][c];
+            if (visto >= objetivo && visto > 0) return (c + 1) * ANCHO_CUBETA_NANOS;
+        }
+        return 0;
+    }
+
+    /**
+     * Maximo de la ventana movil en nanosegundos.
+     */
+    public long maximoVentana(Fase fase) {
+        int f = fase.ordinal();
+        long maximo = 0;
+        for (int i = 0; i < llenas[f]; i++) {
+            if (muestras[f][i] > maximo) maximo = muestras[f][i];
+        }
+        return maximo;
+    }
+
+    private long percentilSesion(int f, float percentil) {
+        long objetivo = (long) Math.ceil(totalSesion[f] * percentil);
+        long visto = 0;
+        for (int c = 0; c < CUBETAS; c++) {
+            visto += histogramaSesion[f][c];
+            if (visto >= objetivo && visto > 0) return (c + 1) * ANCHO_CUBETA_NANOS;
+        }
+        return 0;
+    }
+
+    // ============================================================
+    // OVERLAY
+    // ============================================================
+
+    public void alternarVisible() {
+        visible = !visible;
+        tiempoOverlay = INTERVALO_OVERLAY;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Dibuja la tabla de fases (p50/p99/max de la ventana movil, en ms).
+     * El texto se reconstruye dos veces por segundo; el batch debe estar iniciado.
+     */
+    public void dibujar(Batch batch, BitmapFont fuente) {
+        if (!visible) return;
+        if (overlay == null) overlay = new TextoCacheado(fuente).en(10, 420);
+
+        if (tiempoOverlay >= INTERVALO_OVERLAY) {
+            tiempoOverlay = 0;
+            textoOverlay.setLength(0);
+            textoOverlay.append("fase  p50  p99  max (ms)");
+            for (int f = 0; f < fases.length; f++) {
+                if (llenas[f] == 0) continue;
+                textoOverlay.append('\n').append(fases[f].name()).append("  ");
+                agregarMilisegundos(textoOverlay, percentilVentana(fases[f], 0.5f));
+                textoOverlay.append("  ");
+                agregarMilisegundos(textoOverlay, percentilVentana(fases[f], 0.99f));
+                textoOverlay.append("  ");
+                agregarMilisegundos(textoOverlay, maximoVentana(fases[f]));
+            }
+            overlay.setTexto(textoOverlay);
+        }
+        overlay.dibujar(batch);
+    }
+
+    /**
+     * Agrega nanosegundos como milisegundos con dos decimales, sin crear Strings.
+     */
+    private static void agregarMilisegundos(CharArray sb, long nanos) {
+        long centesimas = nanos / 10_000L;
+        sb.append(centesimas / 100).append('.');
+        long resto = centesimas % 100;
+        if (resto < 10) sb.append('0');
+        sb.append(resto);
+    }
+
+    // ============================================================
+    // EXPORTAR
+    // ============================================================
+
+    /**
+     * Escribe los percentiles de toda la sesion a un CSV en perfiles/ de CarpetaDatos.
+     * Si no hay muestras no escribe nada.
+     */
+    public void exportarCsv() {
+        if (totalSesion[Fase.FRAME.ordinal()] == 0) return;
+
+        StringBuilder csv = new StringBuilder();
+        csv.append("fase,muestras,media_ms,p50_ms,p99_ms,max_ms\n");
+        for (int f = 0; f < fases.length; f++) {
+            if (totalSesion[f] == 0) continue;
+            csv.append(fases[f].name()).append(',')
+               .append(totalSesion[f]).append(',')
+               .append(sumaSesion[f] / (double) totalSesion[f] / 1_000_000.0).append(',')
+               .append(percentilSesion(f, 0.5f) / 1_000_000.0).append(',')
+               .append(percentilSesion(f, 0.99f) / 1_000_000.0).append(',')
+               .append(maximoSesion[f] / 1_000_000.0).append('\n');
+        }
+
+        try {
+            FileHandle archivo = CarpetaDatos.archivo("perfiles/frames-" + System.currentTimeMillis() + ".csv");
+            archivo.writeString(csv.toString(), false);
+            Gdx.app.log("PerfiladorFrames", "Perfil exportado a " + archivo.file().getAbsolutePath());
+        } catch (Exception e) {
+            Gdx.app.error("PerfiladorFrames", "No se pudo exportar el perfil", e);
+        }
+    }
+}
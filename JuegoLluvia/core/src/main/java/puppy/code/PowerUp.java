@@ -1,7 +1,7 @@
 package puppy.code;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
 /**
@@ -11,16 +11,20 @@ import com.badlogic.gdx.math.Rectangle;
  */
 public abstract class PowerUp implements Activable {
 
-    protected Texture textura;
+    protected TextureRegion region;  // Region compartida del atlas del juego
     protected float x, y;
+    protected float yAnterior;  // Posicion en el paso anterior, para interpolar el dibujo
+    protected float xDibujo, yDibujo;  // Posicion interpolada que usan las subclases al dibujar
     protected float velocidadY = 120f;  // Velocidad de caida
     protected Rectangle rect;  // Area de colision
     protected float rotacion = 0f;  // Para animaciones de rotacion
 
-    public PowerUp(String nombreTextura, float x, float y) {
-        this.textura = new Texture(nombreTextura);
+    public PowerUp(String nombreRegion, float x, float y) {
+        // La region es compartida por todos los PowerUps del mismo tipo
+        this.region = AtlasJuego.getInstance().getRegion(nombreRegion);
         this.x = x;
         this.y = y;
+        this.yAnterior = y;
         this.rect = new Rectangle(x, y, 48, 48);
         inicializar();
     }
@@ -31,7 +35,7 @@ public abstract class PowerUp implements Activable {
     public final void cicloVidaCompleto(float deltaTime, SpriteBatch batch) {
         actualizarMovimiento(deltaTime);
         prepararDibujo(deltaTime);
-        dibujar(batch);
+        dibujar(batch, 1f);
     }
 
     /**
@@ -45,6 +49,7 @@ public abstract class PowerUp implements Activable {
      * Mueve el PowerUp hacia abajo en la pantalla.
      */
     protected void actualizarMovimiento(float dt) {
+        yAnterior = y;
         y -= velocidadY * dt;
         rect.setPosition(x, y);
     }
@@ -58,8 +63,11 @@ public abstract class PowerUp implements Activable {
 
     /**
      * Dibuja el PowerUp delegando el dibujo especifico a las subclases.
+     * La posicion se interpola entre los dos ultimos pasos de la simulacion segun alfa.
      */
-    public final void dibujar(SpriteBatch batch) {
+    public final void dibujar(SpriteBatch batch, float alfa) {
+        xDibujo = x;
+        yDibujo = yAnterior + (y - yAnterior) * alfa;
         float ancho = 64;
         float alto = 64;
         dibujarTextura(batch, ancho, alto);
@@ -74,7 +82,7 @@ public abstract class PowerUp implements Activable {
         actualizarMovimiento(dt);
     }
 
-    public boolean colisionaCon(Tarro tarro) {
+    public boolean colisionaCon(SimulacionTarro tarro) {
         return rect.overlaps(tarro.getRectangulo());
     }
 
@@ -82,14 +90,17 @@ public abstract class PowerUp implements Activable {
         return y + rect.height < 0;
     }
 
+    /**
+     * Suelta la referencia a la region compartida.
+     * La textura del atlas la libera AtlasJuego al cerrar el juego.
+     */
     public void dispose() {
-        if (textura != null)
-            textura.dispose();
+        region = null;
     }
 
     /**
      * Cada subclase define que efecto tiene al ser recogido.
      */
     @Override
-    public abstract void activar(Tarro tarro);
+    public abstract void activar(SimulacionTarro tarro);
 }
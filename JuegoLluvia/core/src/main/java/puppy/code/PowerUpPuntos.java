@@ -9,7 +9,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 public class PowerUpPuntos extends PowerUp {
 
     public PowerUpPuntos(float x, float y) {
-        super("star.png", x, y);
+        super(AtlasJuego.ESTRELLA, x, y);
     }
 
     /**
@@ -28,17 +28,16 @@ public class PowerUpPuntos extends PowerUp {
         float escala = 1.0f;
         batch.setColor(1f, 1f, 0f, 1f);  // Color dorado
         batch.draw(
-            textura,
-            rect.x + ancho / 2, rect.y + alto / 2, ancho / 2, alto / 2,
+            region,
+            xDibujo + ancho / 2, yDibujo + alto / 2, ancho / 2, alto / 2,
             ancho, alto, escala, escala,
-            rotacion, 0, 0, (int) textura.getWidth(), (int) textura.getHeight(),
-            false, false
+            rotacion
         );
         batch.setColor(1f, 1f, 1f, 1f);
     }
 
     @Override
-    public void activar(Tarro tarro) {
+    public void activar(SimulacionTarro tarro) {
         tarro.sumarPuntos(5);
     }
 }
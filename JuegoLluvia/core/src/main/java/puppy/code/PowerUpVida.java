@@ -9,7 +9,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 public class PowerUpVida extends PowerUp {
 
     public PowerUpVida(float x, float y) {
-        super("heart.png", x, y);
+        super(AtlasJuego.CORAZON, x, y);
     }
 
     @Override
@@ -25,12 +25,12 @@ public class PowerUpVida extends PowerUp {
         // Calcula un valor de transparencia que oscila entre 0.5 y 1.0
         float alpha = 0.5f + 0.5f * (float) Math.sin((System.currentTimeMillis() % 1000) / 1000f * 6.28f);
         batch.setColor(1f, 1f, 1f, alpha);
-        batch.draw(textura, rect.x, rect.y, ancho, alto);
+        batch.draw(region, xDibujo, yDibujo, ancho, alto);
         batch.setColor(1f, 1f, 1f, 1f);
     }
 
     @Override
-    public void activar(Tarro tarro) {
+    public void activar(SimulacionTarro tarro) {
         tarro.sumarVida();
     }
 }
@@ -0,0 +1,129 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Registro compartido de texturas con conteo de referencias.
+ * Cada imagen se decodifica una sola vez y todas las instancias que la piden
+ * reciben la misma textura. Las texturas se mantienen cargadas aunque su
+ * contador llegue a cero (para no volver a decodificarlas en el proximo spawn)
+ * y se liberan todas juntas al cerrar el juego.
+ * Solo existe una instancia de esta clase (patron Singleton), igual que GestorAudio.
+ */
+public class RegistroTexturas {
+
+    private static RegistroTexturas instancia;
+
+    /**
+     * Textura cargada junto con la cantidad de objetos que la estan usando.
+     */
+    private static class Entrada {
+        final Texture textura;
+        final long bytes;
+        int referencias;
+
+        Entrada(Texture textura) {
+            this.textura = textura;
+            this.bytes = calcularBytes(textura);
+        }
+    }
+
+    private final ObjectMap<String, Entrada> texturas = new ObjectMap<>();
+    private long bytesVivos = 0;
+
+    private RegistroTexturas() {
+        // Constructor privado para evitar que se creen mas instancias
+    }
+
+    /**
+     * Obtiene la unica instancia del registro de texturas.
+     */
+    public static synchronized RegistroTexturas getInstance() {
+        if (instancia == null) {
+            instancia = new RegistroTexturas();
+        }
+        return instancia;
+    }
+
+    /**
+     * Devuelve la textura compartida para la ruta indicada y suma una referencia.
+     * Solo la primera llamada para cada ruta decodifica la imagen.
+     */
+    public Texture obtener(String ruta) {
+        Entrada entrada = texturas.get(ruta);
+        if (entrada == null) {
+            entrada = new Entrada(new Texture(Gdx.files.internal(ruta)));
+            texturas.put(ruta, entrada);
+            bytesVivos += entrada.bytes;
+        }
+        entrada.referencias++;
+        return entrada.textura;
+    }
+
+    /**
+     * Resta una referencia a la textura. La textura sigue cargada hasta liberarTodo().
+     */
+    public void liberar(String ruta) {
+        Entrada entrada = texturas.get(ruta);
+        if (entrada != null && entrada.referencias > 0) {
+            entrada.referencias--;
+        }
+    }
+
+    /**
+     * Numero de objetos que usan actualmente la textura indicada.
+     */
+    public int getReferencias(String ruta) {
+        Entrada entrada = texturas.get(ruta);
+        return entrada == null ? 0 : entrada.referencias;
+    }
+
+    /**
+     * Cantidad de texturas cargadas en memoria de video.
+     */
+    public int getTexturasVivas() {
+        return texturas.size;
+    }
+
+    /**
+     * Bytes aproximados que ocupan las texturas cargadas (ancho * alto * bytes por pixel).
+     */
+    public long getBytesVivos() {
+        return bytesVivos;
+    }
+
+    /**
+     * Libera todas las texturas del registro. Se llama al cerrar el juego.
+     */
+    public void liberarTodo() {
+        for (Entrada entrada : texturas.values()) {
+            entrada.textura.dispose();
+        }
+        texturas.clear();
+        bytesVivos = 0;
+    }
+
+    private static long calcularBytes(Texture textura) {
+        return (long) textura.getWidth() * textura.getHeight() * bytesPorPixel(textura.getTextureData().getFormat());
+    }
+
+    private static int bytesPorPixel(Pixmap.Format formato) {
+        if (formato == null) return 4;
+        switch (formato) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package puppy.code;
+
+/**
+ * Fuente de tiempo de la simulacion.
+ * Permite que la logica del juego no dependa del reloj real (TimeUtils),
+ * asi se puede ejecutar sin ventana y tan rapido como permita la CPU.
+ */
+public interface Reloj {
+    /**
+     * Tiempo actual en nanosegundos. Solo importan las diferencias entre lecturas.
+     */
+    long getNanos();
+}
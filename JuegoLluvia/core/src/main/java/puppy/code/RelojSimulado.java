@@ -0,0 +1,27 @@
+package puppy.code;
+
+/**
+ * Reloj que solo avanza cuando se le indica.
+ * El juego lo avanza una vez por cada paso fijo de la simulacion;
+ * las ejecuciones sin ventana lo avanzan a la velocidad que quieran.
+ */
+public class RelojSimulado implements Reloj {
+
+    private long nanos;
+
+    @Override
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Avanza el reloj la cantidad de segundos indicada.
+     */
+    public void avanzar(float segundos) {
+        nanos += (long) (segundos * 1_000_000_000L);
+    }
+
+    public void reiniciar() {
+        nanos = 0;
+    }
+}
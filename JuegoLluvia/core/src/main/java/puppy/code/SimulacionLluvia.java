@@ -0,0 +1,309 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Random;
+
+/**
+ * Logica de la lluvia sin dependencias de ventana, texturas ni sonido:
+ * crea gotas y PowerUps, los mueve, detecta colisiones con el tarro y suma puntos.
+ *
+ * El reloj, el generador aleatorio y las dimensiones de las gotas se reciben
+ * desde afuera, asi la simulacion puede ejecutarse sin contexto grafico y de
+ * forma reproducible. Lluvia la envuelve para dibujarla y reproducir sonidos.
+ */
+public class SimulacionLluvia {
+
+    // Tamano del mundo del juego
+    public static final float ANCHO_MUNDO = 800;
+    public static final float ALTO_MUNDO = 480;
+
+    private static final float TAMANO_POWERUP = 48;
+
+    // Limite de gotas creadas en un solo paso, para que un intervalo muy corto
+    // o un salto grande del reloj no congele el juego creando gotas atrasadas
+    public static final int MAX_GOTAS_POR_PASO = 4096;
+
+    private final Reloj reloj;
+    private final Random aleatorio;
+    private EventosSimulacion escucha;
+
+    // Dimensiones de cada tipo de gota
+    private final float anchoGotaBuena, altoGotaBuena;
+    private final float anchoGotaMala, altoGotaMala;
+
+    // Gotas activas en pantalla, guardadas en columnas de floats
+    // Al eliminar una gota, la ultima ocupa su lugar en O(1)
+    private final AlmacenGotas gotasBuenas = new AlmacenGotas(AlmacenGotas.TIPO_BUENA, 64);
+    private final AlmacenGotas gotasMalas = new AlmacenGotas(AlmacenGotas.TIPO_MALA, 64);
+    private long ultimoTiempoGota;  // Controla cuando crear la proxima gota
+    private long gotasDescartadas;  // Gotas que no se crearon por pasar MAX_GOTAS_POR_PASO
+
+    // Estrategias de movimiento para las gotas (patron Strategy)
+    private EstrategiaMovimiento estrategiaBuena;
+    private EstrategiaMovimiento estrategiaMala;
+
+    // PowerUps que aparecen durante el juego
+    private final Array<PowerUp> powerUps = new Array<>();
+    private long ultimoTiempoPowerUp;  // Controla cuando crear el proximo PowerUp
+
+    // Fase amplia de colisiones contra el tarro
+    private final BroadphaseFranja broadphase = new BroadphaseFranja();
+
+    // Configuracion de dificultad actual
+    private NivelDificultad nivelDificultad;
+
+    public SimulacionLluvia(float anchoGotaBuena, float altoGotaBuena,
+                            float anchoGotaMala, float altoGotaMala,
+                            Reloj reloj, Random aleatorio) {
+        this.anchoGotaBuena = anchoGotaBuena;
+        this.altoGotaBuena = altoGotaBuena;
+        this.anchoGotaMala = anchoGotaMala;
+        this.altoGotaMala = altoGotaMala;
+        this.reloj = reloj;
+        this.aleatorio = aleatorio;
+        setNivelDificultad(new DificultadMedio());
+    }
+
+    public void setEscucha(EventosSimulacion escucha) {
+        this.escucha = escucha;
+    }
+
+    /**
+     * Reinicia el generador aleatorio. Con la misma semilla, dificultad y entrada
+     * la partida se repite exactamente (ver ReproductorPartida).
+     */
+    public void setSemilla(long semilla) {
+        aleatorio.setSeed(semilla);
+    }
+
+    /**
+     * Deja la simulacion lista para una partida nueva.
+     */
+    public void crear() {
+        // Soltar los PowerUps y vaciar las gotas de la partida anterior (se conserva la memoria)
+        for (PowerUp p : powerUps) p.dispose();
+        powerUps.clear();
+        gotasBuenas.limpiar();
+        gotasMalas.limpiar();
+
+        // Configurar velocidades segun la dificultad
+        setNivelDificultad(nivelDificultad);
+
+        // Crear las primeras gotas para empezar el juego
+        crearGotaBuena();
+        crearGotaMala();
+        ultimoTiempoGota = reloj.getNanos();
+        ultimoTiempoPowerUp = reloj.getNanos();
+    }
+
+    /**
+     * Cambia la dificultad del juego y actualiza las velocidades de las gotas.
+     */
+    public void setNivelDificultad(NivelDificultad nivel) {
+        this.nivelDificultad = nivel;
+        estrategiaBuena = new MovimientoNormal(nivel.getVelocidadGotasBuenas());
+        estrategiaMala = new MovimientoNormal(nivel.getVelocidadGotasMalas());
+    }
+
+    public NivelDificultad getNivelDificultad() {
+        return nivelDificultad;
+    }
+
+    /**
+     * Crea una nueva gota buena en una posicion aleatoria en la parte superior.
+     */
+    private void crearGotaBuena() {
+        float x = aleatorio(0, ANCHO_MUNDO - anchoGotaBuena);
+        gotasBuenas.agregar(x, ALTO_MUNDO, anchoGotaBuena, altoGotaBuena);
+        if (escucha != null) escucha.gotaCreada(AlmacenGotas.TIPO_BUENA, x);
+    }
+
+    /**
+     * Crea una nueva gota mala en una posicion aleatoria en la parte superior.
+     */
+    private void crearGotaMala() {
+        float x = aleatorio(0, ANCHO_MUNDO - anchoGotaMala);
+        gotasMalas.agregar(x, ALTO_MUNDO, anchoGotaMala, altoGotaMala);
+        if (escucha != null) escucha.gotaCreada(AlmacenGotas.TIPO_MALA, x);
+    }
+
+    /**
+     * Crea un PowerUp aleatorio (vida o puntos) en la parte superior.
+     */
+    private void crearPowerUp() {
+        float x = aleatorio(0, ANCHO_MUNDO - TAMANO_POWERUP);
+        float y = ALTO_MUNDO;
+
+        // Probabilidad 50/50 entre vida y puntos
+        PowerUp p;
+        if (aleatorio.nextFloat() < 0.5f) {
+            p = new PowerUpVida(x, y);
+        } else {
+            p = new PowerUpPuntos(x, y);
+        }
+        powerUps.add(p);
+        if (escucha != null) escucha.powerUpCreado(p);
+    }
+
+    /**
+     * Actualiza todas las gotas y PowerUps: las mueve, detecta colisiones y crea nuevas.
+     * Se llama una vez por cada paso fijo de la simulacion.
+     */
+    public void actualizar(SimulacionTarro tarro, float deltaTime) {
+        long ahora = reloj.getNanos();
+
+        // Crear todas las gotas que corresponden al tiempo transcurrido.
+        // Con intervalos mas cortos que el paso (Tormenta) salen varias gotas por paso.
+        int pendientes = gotasPendientes(ahora);
+        float probabilidad = nivelDificultad.getProbabilidadGotaBuena();
+        for (int k = 0; k < pendientes; k++) {
+            if (aleatorio.nextFloat() < probabilidad)
+                crearGotaBuena();
+            else
+                crearGotaMala();
+        }
+
+        // Mover todas las gotas de cada tipo en un solo recorrido
+        gotasBuenas.guardarPosiciones();
+        gotasMalas.guardarPosiciones();
+        estrategiaBuena.moverLote(gotasBuenas.getY(), gotasBuenas.getCantidad(), deltaTime);
+        estrategiaMala.moverLote(gotasMalas.getY(), gotasMalas.getCantidad(), deltaTime);
+
+        // Eliminar gotas que salieron de la pantalla
+        // (de atras hacia adelante porque eliminar mueve la ultima)
+        eliminarFueraDePantalla(gotasBuenas);
+        eliminarFueraDePantalla(gotasMalas);
+
+        // Fase amplia: solo las gotas en la franja del tarro pasan a la prueba exacta.
+        // Los impactos llegan de mayor a menor indice, asi eliminar uno no mueve a otro pendiente.
+        Rectangle rTarro = tarro.getRectangulo();
+        float[] x = gotasBuenas.getX();
+        float[] y = gotasBuenas.getY();
+        int impactos = broadphase.buscarColisiones(gotasBuenas, rTarro.x, rTarro.y, rTarro.width, rTarro.height);
+        for (int k = 0; k < impactos; k++) {
+            int i = broadphase.getImpactos()[k];
+            tarro.sumarPunto();
+            if (escucha != null) escucha.gotaAtrapada(x[i], y[i]);
+            gotasBuenas.eliminar(i);
+        }
+
+        impactos = broadphase.buscarColisiones(gotasMalas, rTarro.x, rTarro.y, rTarro.width, rTarro.height);
+        for (int k = 0; k < impactos; k++) {
+            tarro.restarVida();
+            gotasMalas.eliminar(broadphase.getImpactos()[k]);
+        }
+
+        // Crear PowerUps segun el intervalo de la dificultad
+        long intervaloPowerUp = nivelDificultad.getIntervaloPowerUps();
+        if (ahora - ultimoTiempoPowerUp > intervaloPowerUp) {
+            crearPowerUp();
+            ultimoTiempoPowerUp = ahora;
+        }
+
+        // Actualizar PowerUps
+        for (int i = powerUps.size - 1; i >= 0; i--) {
+            PowerUp p = powerUps.get(i);
+            p.actualizar(deltaTime);
+
+            if (p.estaFueraPantalla()) {
+                powerUps.removeIndex(i);
+                p.dispose();
+                continue;
+            }
+
+            if (broadphase.colisiona(p.rect, rTarro)) {
+                p.activar(tarro);
+                powerUps.removeIndex(i);
+                if (escucha != null) escucha.powerUpRecogido(p);
+                p.dispose();
+            }
+        }
+    }
+
+    /**
+     * Cuantas gotas se deben crear en este paso. Avanza ultimoTiempoGota en
+     * intervalos completos, asi el resto de tiempo se conserva para el proximo paso
+     * y la cantidad de gotas por segundo no depende de la duracion del paso.
+     */
+    private int gotasPendientes(long ahora) {
+        long intervalo = Math.max(1L, nivelDificultad.getIntervaloCreacionGotas());
+        long transcurrido = ahora - ultimoTiempoGota;
+        if (transcurrido <= intervalo) return 0;
+
+        long pendientes = transcurrido / intervalo;
+        if (pendientes > MAX_GOTAS_POR_PASO) {
+            // Descartar el atraso en vez de arrastrarlo a los pasos siguientes
+            ultimoTiempoGota = ahora;
+            gotasDescartadas += pendientes - MAX_GOTAS_POR_PASO;
+            return MAX_GOTAS_POR_PASO;
+        }
+        ultimoTiempoGota += pendientes * intervalo;
+        return (int) pendientes;
+    }
+
+    private static void eliminarFueraDePantalla(AlmacenGotas gotas) {
+        float[] y = gotas.getY();
+        float[] alto = gotas.getAlto();
+        for (int i = gotas.getCantidad() - 1; i >= 0; i--) {
+            if (y[i] + alto[i] < 0) gotas.eliminar(i);
+        }
+    }
+
+    /**
+     * Numero aleatorio entre min (incluido) y max (excluido).
+     */
+    private float aleatorio(float min, float max) {
+        return min + aleatorio.nextFloat() * (max - min);
+    }
+
+    public AlmacenGotas getGotasBuenas() {
+        return gotasBuenas;
+    }
+
+    public AlmacenGotas getGotasMalas() {
+        return gotasMalas;
+    }
+
+    public Array<PowerUp> getPowerUps() {
+        return powerUps;
+    }
+
+    /**
+     * Veces que una gota nueva ocupo un espacio ya reservado en los almacenes.
+     */
+    public long getAciertosPoolGotas() {
+        return gotasBuenas.getAciertos() + gotasMalas.getAciertos();
+    }
+
+    /**
+     * Veces que hubo que agrandar los almacenes de gotas.
+     * En estado estable este valor deja de crecer.
+     */
+    public long getFallosPoolGotas() {
+        return gotasBuenas.getFallos() + gotasMalas.getFallos();
+    }
+
+    /**
+     * Gotas que no se crearon porque un paso debia mas de MAX_GOTAS_POR_PASO.
+     */
+    public long getGotasDescartadas() {
+        return gotasDescartadas;
+    }
+
+    /**
+     * Contadores de la fase amplia: entidades revisadas vs. pruebas exactas.
+     */
+    public BroadphaseFranja getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Suelta los PowerUps activos al cerrar el juego.
+     */
+    public void destruir() {
+        for (PowerUp p : powerUps) p.dispose();
+        powerUps.clear();
+    }
+}
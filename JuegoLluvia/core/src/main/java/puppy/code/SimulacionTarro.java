@@ -0,0 +1,135 @@
+package puppy.code;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Logica del jugador (tarro) sin dependencias de ventana, texturas ni sonido:
+ * movimiento, vidas, puntos e invulnerabilidad.
+ * Recibe la entrada y las dimensiones desde afuera, por lo que puede
+ * ejecutarse sin contexto grafico. Tarro la envuelve para dibujarla.
+ */
+public class SimulacionTarro {
+
+    public static final float VELOCIDAD = 400f;          // Pixeles por segundo
+    public static final float TIEMPO_INVULNERABLE = 1.5f; // Segundos sin recibir dano
+    public static final int VIDAS_MAXIMAS = 5;
+
+    private final Entrada entrada;
+    private EventosSimulacion escucha;
+
+    private final Rectangle rectangulo;  // Area de colision del tarro
+    private float xAnterior;  // Posicion en el paso anterior, para interpolar el dibujo
+
+    private int puntos;
+    private int vidas;
+
+    // Sistema de invulnerabilidad temporal despues de recibir dano
+    private boolean herido;
+    private float tiempoHerido;
+
+    public SimulacionTarro(float ancho, float alto, Entrada entrada) {
+        this.entrada = entrada;
+        this.rectangulo = new Rectangle(0, 0, ancho, alto);
+        this.vidas = 3;
+        crear();
+    }
+
+    /**
+     * Coloca el tarro en su posicion inicial: centrado en la parte inferior.
+     */
+    public void crear() {
+        rectangulo.x = SimulacionLluvia.ANCHO_MUNDO / 2f - rectangulo.width / 2f;
+        rectangulo.y = 20;
+        xAnterior = rectangulo.x;
+    }
+
+    public void setEscucha(EventosSimulacion escucha) {
+        this.escucha = escucha;
+    }
+
+    /**
+     * Establece el numero de vidas iniciales segun la dificultad.
+     */
+    public void setVidasIniciales(int vidasIniciales) {
+        this.vidas = vidasIniciales;
+    }
+
+    /**
+     * Mueve el tarro segun la entrada y actualiza la invulnerabilidad.
+     * Se llama una vez por cada paso fijo de la simulacion.
+     */
+    public void actualizar(float deltaTime) {
+        xAnterior = rectangulo.x;
+        float velocidad = VELOCIDAD * deltaTime;
+
+        if (entrada.izquierda())
+            rectangulo.x -= velocidad;
+        if (entrada.derecha())
+            rectangulo.x += velocidad;
+
+        // Evitar que el tarro se salga de la pantalla
+        if (rectangulo.x < 0) rectangulo.x = 0;
+        if (rectangulo.x > SimulacionLluvia.ANCHO_MUNDO - rectangulo.width)
+            rectangulo.x = SimulacionLluvia.ANCHO_MUNDO - rectangulo.width;
+
+        if (herido) {
+            tiempoHerido += deltaTime;
+            if (tiempoHerido > TIEMPO_INVULNERABLE) {
+                herido = false;
+                tiempoHerido = 0;
+            }
+        }
+    }
+
+    public void sumarPunto() {
+        puntos++;
+    }
+
+    /**
+     * Resta una vida si el tarro no esta en periodo de invulnerabilidad.
+     */
+    public void restarVida() {
+        if (!herido) {
+            vidas--;
+            herido = true;
+            if (escucha != null) escucha.danoRecibido(vidas);
+        }
+    }
+
+    /**
+     * Suma una vida sin pasar del maximo.
+     */
+    public void sumarVida() {
+        if (vidas < VIDAS_MAXIMAS) {
+            vidas++;
+        }
+    }
+
+    public void sumarPuntos(int cantidad) {
+        puntos += cantidad;
+    }
+
+    public Rectangle getRectangulo() {
+        return rectangulo;
+    }
+
+    public float getXAnterior() {
+        return xAnterior;
+    }
+
+    public boolean estaHerido() {
+        return herido;
+    }
+
+    public float getTiempoHerido() {
+        return tiempoHerido;
+    }
+
+    public int getPuntos() {
+        return puntos;
+    }
+
+    public int getVidas() {
+        return vidas;
+    }
+}
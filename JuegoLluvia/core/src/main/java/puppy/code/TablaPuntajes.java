@@ -0,0 +1,424 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UTFDataFormatException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Tablas de puntajes, una por dificultad (la clave es NivelDificultad.getNombre()).
+ *
+ * En disco hay un unico registro binario al que solo se le agregan entradas. Al abrir,
+ * un hilo aparte lo recorre una vez y arma en memoria, por tabla, los TOP mejores
+ * puntajes (un monticulo) y un histograma puntaje -> cantidad de partidas para
+ * calcular el puesto de cualquier puntaje. Si el registro tiene muchas mas entradas
+ * que las necesarias se compacta: se reescribe con los TOP puntajes y un conteo por
+ * puntaje, asi el tiempo de carga depende de los puntajes distintos y no de la
+ * cantidad de partidas jugadas.
+ *
+ * registrar() actualiza la memoria en el momento y deja la escritura en la cola del
+ * hilo de disco, asi la pantalla de Game Over nunca espera al disco.
+ * Solo existe una instancia de esta clase (patron Singleton).
+ */
+public class TablaPuntajes {
+
+    // Puntajes que se guardan con su fecha y se muestran en cada tabla
+    public static final int TOP = 10;
+
+    private static final int MAGIA = 0x4C4C5054;  // "LLPT"
+    private static final int VERSION = 1;
+    private static final int LARGO_CABECERA = 5;
+
+    // Tipos de entrada del registro
+    private static final byte PUNTAJE = 1;  // Una partida: puntos y fecha
+    private static final byte CONTEO = 2;   // Varias partidas con los mismos puntos (solo tras compactar)
+
+    // Se compacta si el registro tiene mas de FACTOR_COMPACTAR veces las entradas necesarias
+    private static final int FACTOR_COMPACTAR = 2;
+    private static final int MIN_COMPACTAR = 64;
+
+    /**
+     * Un puntaje de la tabla.
+     */
+    public static class Puntaje {
+        public final int puntos;
+        public final long fecha;  // Milisegundos desde 1970
+
+        public Puntaje(int puntos, long fecha) {
+            this.puntos = puntos;
+            this.fecha = fecha;
+        }
+    }
+
+    // Mayor puntaje primero; con el mismo puntaje, el mas antiguo primero
+    private static final Comparator<Puntaje> MEJOR_PRIMERO = (a, b) ->
+        a.puntos != b.puntos ? Integer.compare(b.puntos, a.puntos) : Long.compare(a.fecha, b.fecha);
+
+    /**
+     * Tabla de una dificultad.
+     */
+    private static class Tabla {
+        // Monticulo con el peor de los TOP arriba, para reemplazarlo en O(log TOP)
+        final PriorityQueue<Puntaje> mejores = new PriorityQueue<>(TOP + 1, MEJOR_PRIMERO.reversed());
+        // Puntaje -> partidas con ese puntaje, de mayor a menor
+        final TreeMap<Integer, Integer> histograma = new TreeMap<>(Comparator.reverseOrder());
+        int partidas;
+
+        void agregar(Puntaje p) {
+            if (mejores.size() < TOP) {
+                mejores.add(p);
+            } else if (MEJOR_PRIMERO.compare(p, mejores.peek()) < 0) {
+                mejores.poll();
+                mejores.add(p);
+            }
+            contar(p.puntos, 1);
+        }
+
+        void contar(int puntos, int cantidad) {
+            histograma.merge(puntos, cantidad, Integer::sum);
+            partidas += cantidad;
+        }
+
+        /**
+         * Puesto (desde 1) de un puntaje: uno mas que las partidas con mas puntos.
+         */
+        int puesto(int puntos) {
+            int mayores = 0;
+            for (int cantidad : histograma.headMap(puntos, false).values()) mayores += cantidad;
+            return mayores + 1;
+        }
+    }
+
+    private static TablaPuntajes instancia;
+
+    private final Map<String, Tabla> tablas = new HashMap<>();
+    private ExecutorService disco;
+    private File archivo;
+    private DataOutputStream salida;  // Solo la usa el hilo de disco
+    private volatile boolean cargada;
+
+    // Buffer para armar cada entrada y calcular su CRC (solo en el hilo de disco)
+    private final ByteArrayOutputStream bufferEntrada = new ByteArrayOutputStream(64);
+    private final DataOutputStream datosEntrada = new DataOutputStream(bufferEntrada);
+    private final CRC32 crcEntrada = new CRC32();
+
+    private TablaPuntajes() {
+        // Constructor privado para evitar que se creen mas instancias
+    }
+
+    /**
+     * Obtiene la unica instancia de las tablas de puntajes.
+     */
+    public static synchronized TablaPuntajes getInstance() {
+        if (instancia == null) {
+            instancia = new TablaPuntajes();
+        }
+        return instancia;
+    }
+
+    /**
+     * Empieza a leer el registro en segundo plano. Hasta que termine, las tablas
+     * solo tienen los puntajes registrados en esta sesion.
+     */
+    public synchronized void abrir(File archivo) {
+        if (disco != null) return;
+        this.archivo = archivo;
+        disco = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "TablaPuntajes-disco");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        disco.execute(this::cargar);
+    }
+
+    public boolean estaCargada() {
+        return cargada;
+    }
+
+    /**
+     * Agrega el puntaje de una partida terminada y devuelve su puesto en la tabla.
+     * La escritura en disco queda en cola; este metodo no espera al disco.
+     */
+    public int registrar(String dificultad, int puntos) {
+        Puntaje p = new Puntaje(puntos, System.currentTimeMillis());
+        int puesto;
+        synchronized (this) {
+            Tabla tabla = tabla(dificultad);
+            tabla.agregar(p);
+            puesto = tabla.puesto(puntos);
+            if (disco != null) disco.execute(() -> agregarAlRegistro(dificultad, p));
+        }
+        return puesto;
+    }
+
+    /**
+     * Llena destino con los mejores puntajes de la dificultad, del mejor al peor.
+     */
+    public synchronized void getMejores(String dificultad, Array<Puntaje> destino) {
+        destino.clear();
+        Tabla tabla = tablas.get(dificultad);
+        if (tabla == null) return;
+        for (Puntaje p : tabla.mejores) destino.add(p);
+        destino.sort(MEJOR_PRIMERO);
+    }
+
+    /**
+     * Partidas registradas en la dificultad (en esta y en sesiones anteriores).
+     */
+    public synchronized int getPartidas(String dificultad) {
+        Tabla tabla = tablas.get(dificultad);
+        return tabla != null ? tabla.partidas : 0;
+    }
+
+    private Tabla tabla(String dificultad) {
+        Tabla tabla = tablas.get(dificultad);
+        if (tabla == null) {
+            tabla = new Tabla();
+            tablas.put(dificultad, tabla);
+        }
+        return tabla;
+    }
+
+    // ============================================================
+    // HILO DE DISCO
+    // ============================================================
+
+    /**
+     * Recorre el registro, compacta si hace falta y suma lo leido a las tablas.
+     */
+    private void cargar() {
+        Map<String, Tabla> leidas = new HashMap<>();
+        long inicio = System.nanoTime();
+        int entradas = 0;
+        try {
+            entradas = leer(leidas);
+            int necesarias = 0;
+            for (Tabla t : leidas.values()) necesarias += t.mejores.size() + t.histograma.size();
+            if (entradas > Math.max(MIN_COMPACTAR, FACTOR_COMPACTAR * necesarias)) {
+                compactar(leidas);
+                log("Registro compactado: " + entradas + " -> " + necesarias + " entradas");
+            }
+            File carpeta = archivo.getAbsoluteFile().getParentFile();
+            if (carpeta != null && !carpeta.isDirectory() && !carpeta.mkdirs()) {
+                throw new IOException("No se pudo crear " + carpeta);
+            }
+            salida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(archivo, true)));
+            if (archivo.length() == 0) escribirCabecera(salida);
+        } catch (IOException e) {
+            error("No se pudo abrir el registro de puntajes " + archivo, e);
+        }
+
+        synchronized (this) {
+            // Sumar lo leido a lo que se haya registrado mientras tanto
+            for (Map.Entry<String, Tabla> e : leidas.entrySet()) {
+                Tabla tabla = tabla(e.getKey());
+                for (Puntaje p : e.getValue().mejores) {
+                    tabla.agregar(p);
+                    tabla.contar(p.puntos, -1);  // Ya esta contado en el histograma leido
+                }
+                for (Map.Entry<Integer, Integer> h : e.getValue().histograma.entrySet()) {
+                    tabla.contar(h.getKey(), h.getValue());
+                }
+            }
+        }
+        cargada = true;
+        log("Puntajes cargados: " + entradas + " entradas en " + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Lee todas las entradas sanas del registro. Si el final quedo cortado o danado
+     * (el juego se cerro a mitad de una escritura) lo recorta al ultimo punto sano.
+     */
+    private int leer(Map<String, Tabla> destino) throws IOException {
+        if (!archivo.isFile()) return 0;
+        if (!cabeceraValida()) {
+            // Se aparta para no perderlo y se empieza un registro nuevo
+            File apartado = new File(archivo.getPath() + ".danado");
+            error("Registro de puntajes ilegible, se aparta como " + apartado, null);
+            AlmacenPerfil.reemplazar(archivo, apartado);
+            return 0;
+        }
+        int entradas = 0;
+        long sano = LARGO_CABECERA;
+        boolean recortar = false;
+        CRC32 crc = new CRC32();
+        try (FileInputStream archivoEntrada = new FileInputStream(archivo)) {
+            CheckedInputStream verificado = new CheckedInputStream(new BufferedInputStream(archivoEntrada), crc);
+            DataInputStream entrada = new DataInputStream(verificado);
+            entrada.skipBytes(LARGO_CABECERA);
+            while (true) {
+                crc.reset();
+                try {
+                    byte tipo = entrada.readByte();
+                    String dificultad = entrada.readUTF();
+                    int puntos = entrada.readInt();
+                    long valor = entrada.readLong();
+                    int calculado = (int) crc.getValue();
+                    if (entrada.readInt() != calculado || (tipo != PUNTAJE && tipo != CONTEO)) {
+                        recortar = true;
+                        break;
+                    }
+                    Tabla tabla = destino.computeIfAbsent(dificultad, d -> new Tabla());
+                    if (tipo == PUNTAJE) tabla.agregar(new Puntaje(puntos, valor));
+                    else tabla.contar(puntos, (int) valor);
+                    sano += largoEntrada(dificultad);
+                    entradas++;
+                } catch (EOFException e) {
+                    recortar = sano < archivo.length();
+                    break;
+                } catch (UTFDataFormatException e) {
+                    // Bytes sueltos en el nombre de la dificultad: la entrada quedo a medias
+                    recortar = true;
+                    break;
+                }
+            }
+        }
+        if (recortar) {
+            error("Registro de puntajes cortado en el byte " + sano + ", se descarta el resto", null);
+            try (RandomAccessFile recorte = new RandomAccessFile(archivo, "rw")) {
+                recorte.setLength(sano);
+            }
+        }
+        return entradas;
+    }
+
+    private boolean cabeceraValida() throws IOException {
+        if (archivo.length() < LARGO_CABECERA) return false;
+        try (DataInputStream entrada = new DataInputStream(new FileInputStream(archivo))) {
+            return entrada.readInt() == MAGIA && entrada.readByte() == VERSION;
+        }
+    }
+
+    /**
+     * Reescribe el registro con lo minimo para rearmar las tablas: los TOP puntajes
+     * con su fecha y un conteo por cada puntaje del resto de las partidas.
+     */
+    private void compactar(Map<String, Tabla> tablasLeidas) throws IOException {
+        File temporal = new File(archivo.getPath() + ".tmp");
+        try (FileOutputStream archivoSalida = new FileOutputStream(temporal)) {
+            DataOutputStream compacto = new DataOutputStream(new BufferedOutputStream(archivoSalida));
+            escribirCabecera(compacto);
+            for (Map.Entry<String, Tabla> e : tablasLeidas.entrySet()) {
+                Tabla tabla = e.getValue();
+                TreeMap<Integer, Integer> resto = new TreeMap<>(tabla.histograma);
+                for (Puntaje p : tabla.mejores) {
+                    escribirEntrada(compacto, PUNTAJE, e.getKey(), p.puntos, p.fecha);
+                    resto.merge(p.puntos, -1, Integer::sum);
+                }
+                for (Map.Entry<Integer, Integer> h : resto.entrySet()) {
+                    if (h.getValue() > 0) escribirEntrada(compacto, CONTEO, e.getKey(), h.getKey(), h.getValue());
+                }
+            }
+            compacto.flush();
+            archivoSalida.getFD().sync();
+        }
+        AlmacenPerfil.reemplazar(temporal, archivo);
+    }
+
+    private void agregarAlRegistro(String dificultad, Puntaje p) {
+        if (salida == null) return;  // El registro no se pudo abrir
+        try {
+            escribirEntrada(salida, PUNTAJE, dificultad, p.puntos, p.fecha);
+            salida.flush();
+        } catch (IOException e) {
+            error("No se pudo guardar el puntaje en " + archivo, e);
+        }
+    }
+
+    private static void escribirCabecera(DataOutputStream destino) throws IOException {
+        destino.writeInt(MAGIA);
+        destino.writeByte(VERSION);
+    }
+
+    /**
+     * Escribe una entrada: tipo, dificultad, puntos, fecha o cantidad y el CRC32 de lo anterior.
+     */
+    private void escribirEntrada(OutputStream destino, byte tipo, String dificultad, int puntos, long valor)
+            throws IOException {
+        bufferEntrada.reset();
+        datosEntrada.writeByte(tipo);
+        datosEntrada.writeUTF(dificultad);
+        datosEntrada.writeInt(puntos);
+        datosEntrada.writeLong(valor);
+        crcEntrada.reset();
+        crcEntrada.update(bufferEntrada.toByteArray());
+        datosEntrada.writeInt((int) crcEntrada.getValue());
+        bufferEntrada.writeTo(destino);
+    }
+
+    /**
+     * Bytes que ocupa una entrada (writeUTF usa UTF-8 modificado con 2 bytes de largo).
+     */
+    private static long largoEntrada(String dificultad) {
+        int utf = 0;
+        for (int i = 0; i < dificultad.length(); i++) {
+            char c = dificultad.charAt(i);
+            utf += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return 1 + 2 + utf + 4 + 8 + 4;
+    }
+
+    /**
+     * Termina las escrituras pendientes esperando como maximo el tiempo indicado.
+     */
+    public void cerrar(long maxMs) {
+        ExecutorService hilo;
+        synchronized (this) {
+            if (disco == null) return;
+            hilo = disco;
+            disco = null;
+        }
+        hilo.execute(() -> {
+            try {
+                if (salida != null) salida.close();
+            } catch (IOException e) {
+                error("No se pudo cerrar el registro de puntajes", e);
+            }
+            salida = null;
+        });
+        hilo.shutdown();
+        try {
+            if (!hilo.awaitTermination(maxMs, TimeUnit.MILLISECONDS)) {
+                error("Los puntajes no terminaron de guardarse en " + maxMs + " ms", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void log(String mensaje) {
+        if (Gdx.app != null) Gdx.app.log("TablaPuntajes", mensaje);
+    }
+
+    private static void error(String mensaje, Exception e) {
+        if (Gdx.app == null) {
+            System.err.println("TablaPuntajes: " + mensaje + (e != null ? " (" + e + ")" : ""));
+        } else if (e != null) {
+            Gdx.app.error("TablaPuntajes", mensaje, e);
+        } else {
+            Gdx.app.error("TablaPuntajes", mensaje);
+        }
+    }
+}
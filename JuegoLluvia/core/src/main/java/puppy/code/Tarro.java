@@ -1,152 +1,118 @@
 package puppy.code;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
 /**
  * Representa al jugador (tarro) del juego.
- * Se encarga del movimiento, las vidas, los puntos y las colisiones.
+ * La logica (movimiento, vidas, puntos e invulnerabilidad) vive en SimulacionTarro;
+ * esta clase la conecta con el teclado, la dibuja y reproduce el sonido de dano.
  */
-public class Tarro {
+public class Tarro implements EventosSimulacion {
 
-    private Texture textura;
-    private Sound sonidoDano;
-    private Rectangle rectangulo;  // Area de colision del tarro
+    private TextureRegion textura;  // Region del atlas del juego
+    private final SimulacionTarro simulacion;
 
-    private int puntos;
-    private int vidas;
-
-    // Sistema de invulnerabilidad temporal despues de recibir dano
-    private boolean herido;
-    private float tiempoHerido;
+    public Tarro(TextureRegion textura) {
+        this(textura, new EntradaTeclado());
+    }
 
-    public Tarro(Texture textura, Sound sonidoDano) {
+    /**
+     * Tarro controlado por otra entrada (por ejemplo una muestreada para grabar la partida).
+     */
+    public Tarro(TextureRegion textura, Entrada entrada) {
         this.textura = textura;
-        this.sonidoDano = sonidoDano;
-        this.rectangulo = new Rectangle();
-        this.puntos = 0;
-        this.vidas = 3;
-        this.herido = false;
-        this.tiempoHerido = 0;
+        // Usa las dimensiones reales de la textura para que coincidan con la imagen
+        this.simulacion = new SimulacionTarro(textura.getRegionWidth(), textura.getRegionHeight(), entrada);
+        this.simulacion.setEscucha(this);
     }
 
     /**
-     * Inicializa la posicion y tamano del tarro.
-     * Usa las dimensiones reales de la textura para que coincidan con la imagen.
+     * Inicializa la posicion del tarro.
      */
     public void crear() {
-        float ancho = textura.getWidth();
-        float alto = textura.getHeight();
-        rectangulo.x = 800 / 2f - ancho / 2f;  // Centrado horizontalmente
-        rectangulo.y = 20;  // Posicion inicial en la parte inferior
-        rectangulo.width = ancho;
-        rectangulo.height = alto;
-    }
-    
+        simulacion.crear();
+    }
+
     /**
      * Establece el numero de vidas iniciales segun la dificultad.
      */
     public void setVidasIniciales(int vidasIniciales) {
-        this.vidas = vidasIniciales;
+        simulacion.setVidasIniciales(vidasIniciales);
     }
 
     /**
      * Actualiza el movimiento del tarro segun las teclas presionadas.
      * Se puede mover con A/D o las flechas izquierda/derecha.
+     * Se llama una vez por cada paso fijo de la simulacion.
      */
-    public void actualizarMovimiento() {
-        float velocidad = 400 * Gdx.graphics.getDeltaTime();
-
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A))
-            rectangulo.x -= velocidad;
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D))
-            rectangulo.x += velocidad;
-
-        // Evitar que el tarro se salga de la pantalla
-        if (rectangulo.x < 0) rectangulo.x = 0;
-        if (rectangulo.x > 800 - rectangulo.width) rectangulo.x = 800 - rectangulo.width;
-
-        if (herido) actualizarInvulnerabilidad();
+    public void actualizarMovimiento(float deltaTime) {
+        simulacion.actualizar(deltaTime);
     }
 
     /**
-     * Controla el tiempo de invulnerabilidad despues de recibir dano.
-     * Durante 1.5 segundos el tarro no puede recibir mas dano.
+     * Dibuja el tarro en pantalla, interpolando entre los dos ultimos pasos segun alfa.
+     * Si esta herido, parpadea para indicar invulnerabilidad.
      */
-    private void actualizarInvulnerabilidad() {
-        tiempoHerido += Gdx.graphics.getDeltaTime();
-        if (tiempoHerido > 1.5f) {
-            herido = false;
-            tiempoHerido = 0;
+    public void dibujar(SpriteBatch batch, float alfa) {
+        Rectangle rectangulo = simulacion.getRectangulo();
+        float xAnterior = simulacion.getXAnterior();
+        float x = xAnterior + (rectangulo.x - xAnterior) * alfa;
+        if (simulacion.estaHerido()) {
+            // Efecto de parpadeo: se dibuja solo en algunos frames
+            int frame = (int) (simulacion.getTiempoHerido() * 20);
+            if (frame % 4 < 2)
+                batch.draw(textura, x, rectangulo.y, rectangulo.width, rectangulo.height);
+        } else {
+            batch.draw(textura, x, rectangulo.y, rectangulo.width, rectangulo.height);
         }
     }
 
     /**
-     * Dibuja el tarro en pantalla.
-     * Si esta herido, parpadea para indicar invulnerabilidad.
+     * Reproduce el sonido de dano cuando la simulacion avisa que se perdio una vida.
      */
-    public void dibujar(SpriteBatch batch) {
-        if (herido) {
-            // Efecto de parpadeo: se dibuja solo en algunos frames
-            int frame = (int) (tiempoHerido * 20);
-            if (frame % 4 < 2) 
-                batch.draw(textura, rectangulo.x, rectangulo.y, rectangulo.width, rectangulo.height);
-        } else {
-            batch.draw(textura, rectangulo.x, rectangulo.y, rectangulo.width, rectangulo.height);
-        }
+    @Override
+    public void danoRecibido(int vidasRestantes) {
+        GestorAudio.getInstance().solicitar(GestorAudio.DANO);
+        Rectangle r = simulacion.getRectangulo();
+        Telemetria.getInstance().registrar(Telemetria.DANO, vidasRestantes, r.x, r.y);
+    }
+
+    public SimulacionTarro getSimulacion() {
+        return simulacion;
     }
 
     public Rectangle getRectangulo() {
-        return rectangulo;
+        return simulacion.getRectangulo();
     }
 
     public void sumarPunto() {
-        puntos++;
+        simulacion.sumarPunto();
     }
 
-    /**
-     * Resta una vida al tarro si no esta en periodo de invulnerabilidad.
-     */
     public void restarVida() {
-        if (!herido) {
-            vidas--;
-            herido = true;
-            reproducirDano();
-        }
+        simulacion.restarVida();
     }
 
-    /**
-     * Suma una vida cuando se recoge un PowerUp de vida.
-     * Tiene un limite maximo de 5 vidas.
-     */
     public void sumarVida() {
-        if (vidas < 5) {
-            vidas++;
-        }
+        simulacion.sumarVida();
     }
 
     public void sumarPuntos(int cantidad) {
-        puntos += cantidad;
-    }
-
-    private void reproducirDano() {
-        GestorAudio.getInstance().reproducirSonido(sonidoDano);
+        simulacion.sumarPuntos(cantidad);
     }
 
     public boolean estaHerido() {
-        return herido;
+        return simulacion.estaHerido();
     }
 
     public int getPuntos() {
-        return puntos;
+        return simulacion.getPuntos();
     }
 
     public int getVidas() {
-        return vidas;
+        return simulacion.getVidas();
     }
 
     public void setVolumen(float nuevoVolumen) {
@@ -154,10 +120,10 @@ public class Tarro {
     }
 
     /**
-     * Libera los recursos del tarro al cerrar el juego.
+     * Suelta las referencias del tarro al cerrar el juego.
+     * La textura se libera con AtlasJuego y el sonido de dano vive en el banco de GestorAudio.
      */
     public void destruir() {
-        if (textura != null) textura.dispose();
-        if (sonidoDano != null) sonidoDano.dispose();
+        textura = null;
     }
 }
@@ -0,0 +1,287 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Telemetria de la partida: un registro binario por cada gota creada o atrapada,
+ * cada dano y cada PowerUp creado o recogido.
+ *
+ * Los eventos se escriben en un buffer circular fuera del heap con registros de
+ * TAMANO_REGISTRO bytes. El hilo de dibujo es el unico que escribe (registrar() son
+ * unas pocas escrituras absolutas y una publicacion ordenada, sin reservar memoria ni
+ * bloquear) y un hilo aparte lo vacia en archivos que rotan al llegar a BYTES_POR_ARCHIVO,
+ * conservando los MAX_ARCHIVOS mas nuevos. Si el buffer esta lleno el evento se descarta
+ * y se cuenta; el escritor deja un registro DESCARTADOS con la cantidad perdida.
+ *
+ * Formato de cada archivo: cabecera (MAGIA, VERSION, TAMANO_REGISTRO, milisegundos de
+ * inicio) y despues registros little-endian: tiempo de la partida en nanos (long),
+ * tipo (int), valor (int), x (float), y (float).
+ * Se desactiva con -Dlluvia.telemetria=false.
+ * Solo existe una instancia de esta clase (patron Singleton).
+ */
+public class Telemetria {
+
+    // Tipos de evento
+    public static final int GOTA_CREADA = 1;      // valor: tipo de AlmacenGotas
+    public static final int GOTA_ATRAPADA = 2;
+    public static final int DANO = 3;             // valor: vidas restantes
+    public static final int POWERUP_CREADO = 4;   // valor: POWERUP_VIDA o POWERUP_PUNTOS
+    public static final int POWERUP_RECOGIDO = 5; // valor: POWERUP_VIDA o POWERUP_PUNTOS
+    public static final int PARTIDA_NUEVA = 6;    // valor: vidas iniciales
+    public static final int GAME_OVER = 7;        // valor: puntos
+    public static final int DESCARTADOS = 8;      // valor: eventos perdidos por buffer lleno
+
+    public static final int POWERUP_VIDA = 0;
+    public static final int POWERUP_PUNTOS = 1;
+
+    private static final int MAGIA = 0x4C4C5445;  // "LLTE"
+    private static final int VERSION = 1;
+    public static final int TAMANO_REGISTRO = 24;
+    private static final int TAMANO_CABECERA = 20;
+
+    // 16384 registros (384 KB): unos segundos de Tormenta aunque el disco se trabe
+    private static final int CAPACIDAD = 1 << 14;
+    private static final long BYTES_POR_ARCHIVO = 8L * 1024 * 1024;
+    private static final int MAX_ARCHIVOS = 8;
+    private static final long ESPERA_ESCRITOR_NANOS = 20_000_000L;
+
+    private static Telemetria instancia;
+
+    private final ByteBuffer anillo = ByteBuffer.allocateDirect(CAPACIDAD * TAMANO_REGISTRO)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    private final AtomicLong cabeza = new AtomicLong();  // Proximo registro a escribir (solo el hilo de dibujo)
+    private final AtomicLong cola = new AtomicLong();    // Proximo registro a vaciar (solo el escritor)
+    private long cabezaLocal;   // Copia de cabeza del hilo de dibujo
+    private long colaVista;     // Ultima cola que leyo el hilo de dibujo, para no leerla siempre
+    private volatile long descartados;  // Solo lo escribe el hilo de dibujo
+
+    private Reloj reloj;
+    private boolean activa;
+    private volatile boolean cerrando;
+    private Thread escritor;
+
+    // Estado del hilo escritor
+    private File carpeta;
+    private FileChannel canal;
+    private long bytesArchivo;
+    private int numeroArchivo;
+    private long descartadosInformados;
+    private volatile long registrosEscritos;  // Solo lo escribe el escritor
+    private long ultimoTiempo;  // Tiempo del ultimo registro escrito
+    private final ByteBuffer vista = anillo.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer auxiliar = ByteBuffer.allocateDirect(Math.max(TAMANO_CABECERA, TAMANO_REGISTRO)).order(ByteOrder.LITTLE_ENDIAN);
+
+    private Telemetria() {
+        // Constructor privado para evitar que se creen mas instancias
+    }
+
+    /**
+     * Obtiene la unica instancia de la telemetria.
+     */
+    public static synchronized Telemetria getInstance() {
+        if (instancia == null) {
+            instancia = new Telemetria();
+        }
+        return instancia;
+    }
+
+    /**
+     * Reloj con el que se marcan los eventos (el de la partida).
+     */
+    public void setReloj(Reloj reloj) {
+        this.reloj = reloj;
+    }
+
+    /**
+     * Empieza a guardar eventos en la carpeta dada. Si esta desactivada no hace nada.
+     */
+    public void abrir(File carpeta) {
+        if (activa || !Boolean.parseBoolean(System.getProperty("lluvia.telemetria", "true"))) return;
+        this.carpeta = carpeta;
+        cerrando = false;
+        activa = true;
+        escritor = new Thread(this::vaciar, "Telemetria-escritor");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    public boolean estaActiva() {
+        return activa;
+    }
+
+    /**
+     * Anota un evento. Solo se llama desde el hilo de dibujo (el de la simulacion).
+     * Si el buffer esta lleno el evento se descarta.
+     */
+    public void registrar(int tipo, int valor, float x, float y) {
+        if (!activa) return;
+        long indice = cabezaLocal;
+        if (indice - colaVista >= CAPACIDAD) {
+            colaVista = cola.get();
+            if (indice - colaVista >= CAPACIDAD) {
+                descartados++;
+                return;
+            }
+        }
+        int base = (int) (indice & (CAPACIDAD - 1)) * TAMANO_REGISTRO;
+        anillo.putLong(base, reloj != null ? reloj.getNanos() : 0L);
+        anillo.putInt(base + 8, tipo);
+        anillo.putInt(base + 12, valor);
+        anillo.putFloat(base + 16, x);
+        anillo.putFloat(base + 20, y);
+        cabezaLocal = indice + 1;
+        cabeza.lazySet(cabezaLocal);  // Publica el registro sin barrera completa
+    }
+
+    public long getDescartados() {
+        return descartados;
+    }
+
+    /**
+     * Registros que el escritor ya paso a disco.
+     */
+    public long getEscritos() {
+        return registrosEscritos;
+    }
+
+    // ============================================================
+    // HILO ESCRITOR
+    // ============================================================
+
+    private void vaciar() {
+        try {
+            if (!carpeta.isDirectory() && !carpeta.mkdirs()) throw new IOException("No se pudo crear " + carpeta);
+            while (true) {
+                boolean terminar = cerrando;  // Leer antes de vaciar: lo publicado antes de cerrar se escribe
+                long hasta = cabeza.get();
+                long desde = cola.get();
+                if (hasta > desde) {
+                    escribirRegistros(desde, hasta);
+                    cola.lazySet(hasta);
+                }
+                informarDescartados();
+                if (terminar) break;
+                if (hasta == desde) LockSupport.parkNanos(ESPERA_ESCRITOR_NANOS);
+            }
+        } catch (IOException e) {
+            // El anillo se llena y los eventos siguientes solo se cuentan como descartados
+            error("Se detiene la telemetria", e);
+        } finally {
+            cerrarArchivo();
+        }
+    }
+
+    /**
+     * Escribe los registros [desde, hasta) del anillo, en dos tramos si dan la vuelta.
+     */
+    private void escribirRegistros(long desde, long hasta) throws IOException {
+        while (desde < hasta) {
+            int inicio = (int) (desde & (CAPACIDAD - 1));
+            int cantidad = (int) Math.min(hasta - desde, CAPACIDAD - inicio);
+            abrirArchivoSiHaceFalta();
+            // Los cambios de limite y posicion pasan por Buffer para correr tambien en Java 8
+            ((Buffer) vista).limit((inicio + cantidad) * TAMANO_REGISTRO).position(inicio * TAMANO_REGISTRO);
+            while (vista.hasRemaining()) canal.write(vista);
+            bytesArchivo += (long) cantidad * TAMANO_REGISTRO;
+            registrosEscritos += cantidad;
+            ultimoTiempo = anillo.getLong((inicio + cantidad - 1) * TAMANO_REGISTRO);
+            desde += cantidad;
+        }
+    }
+
+    /**
+     * Deja en el archivo un registro con los eventos descartados desde el ultimo aviso.
+     */
+    private void informarDescartados() throws IOException {
+        long total = descartados;
+        if (total == descartadosInformados) return;
+        abrirArchivoSiHaceFalta();
+        ((Buffer) auxiliar).clear();
+        auxiliar.putLong(ultimoTiempo);
+        auxiliar.putInt(DESCARTADOS);
+        auxiliar.putInt((int) Math.min(Integer.MAX_VALUE, total - descartadosInformados));
+        auxiliar.putFloat(0f).putFloat(0f);
+        ((Buffer) auxiliar).flip();
+        while (auxiliar.hasRemaining()) canal.write(auxiliar);
+        bytesArchivo += TAMANO_REGISTRO;
+        descartadosInformados = total;
+    }
+
+    /**
+     * Abre el primer archivo o rota al siguiente si el actual llego a BYTES_POR_ARCHIVO.
+     */
+    private void abrirArchivoSiHaceFalta() throws IOException {
+        if (canal != null && bytesArchivo < BYTES_POR_ARCHIVO) return;
+        cerrarArchivo();
+        borrarArchivosViejos();
+        long ahora = System.currentTimeMillis();
+        File archivo = new File(carpeta, String.format("telemetria-%d-%03d.bin", ahora, numeroArchivo++));
+        canal = new RandomAccessFile(archivo, "rw").getChannel();
+        canal.truncate(0);
+        ((Buffer) auxiliar).clear();
+        auxiliar.putInt(MAGIA).putInt(VERSION).putInt(TAMANO_REGISTRO).putLong(ahora);
+        ((Buffer) auxiliar).flip();
+        while (auxiliar.hasRemaining()) canal.write(auxiliar);
+        bytesArchivo = TAMANO_CABECERA;
+    }
+
+    /**
+     * Deja lugar para un archivo nuevo conservando como maximo MAX_ARCHIVOS.
+     */
+    private void borrarArchivosViejos() {
+        File[] archivos = carpeta.listFiles((c, nombre) -> nombre.startsWith("telemetria-") && nombre.endsWith(".bin"));
+        if (archivos == null || archivos.length < MAX_ARCHIVOS) return;
+        Arrays.sort(archivos);  // El nombre empieza con la hora: el orden alfabetico es el cronologico
+        for (int i = 0; i <= archivos.length - MAX_ARCHIVOS; i++) {
+            if (!archivos[i].delete()) error("No se pudo borrar " + archivos[i], null);
+        }
+    }
+
+    private void cerrarArchivo() {
+        if (canal == null) return;
+        try {
+            canal.close();
+        } catch (IOException e) {
+            error("No se pudo cerrar el archivo de telemetria", e);
+        }
+        canal = null;
+    }
+
+    /**
+     * Vacia lo pendiente y detiene el escritor, esperando como maximo el tiempo indicado.
+     */
+    public void cerrar(long maxMs) {
+        if (!activa) return;
+        activa = false;
+        cerrando = true;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(maxMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (escritor.isAlive()) error("La telemetria no termino de guardarse en " + maxMs + " ms", null);
+        escritor = null;
+    }
+
+    private static void error(String mensaje, Exception e) {
+        if (Gdx.app == null) {
+            System.err.println("Telemetria: " + mensaje + (e != null ? " (" + e + ")" : ""));
+        } else if (e != null) {
+            Gdx.app.error("Telemetria", mensaje, e);
+        } else {
+            Gdx.app.error("Telemetria", mensaje);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package puppy.code;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.CharArray;
+
+/**
+ * Texto de pantalla que guarda sus glifos ya ubicados en un BitmapFontCache.
+ *
+ * Solo se vuelve a maquetar cuando cambia el texto o el valor numerico;
+ * el resto de los frames se dibuja directo desde la cache. Cambiar el color
+ * o la transparencia actualiza los vertices sin maquetar de nuevo.
+ * En estado estable dibujar un TextoCacheado no reserva memoria.
+ */
+public class TextoCacheado {
+
+    private final BitmapFontCache cache;
+    private final String prefijo;
+    private final String sufijo;
+    private final CharArray texto = new CharArray(64);
+    private final Color color = new Color(1, 1, 1, 1);
+
+    private float x, y;
+    private float anchoObjetivo;
+    private int alineacion = Align.left;
+
+    private int valor;
+    private boolean tieneValor;
+    private boolean pendiente = true;  // Hay que maquetar antes de dibujar
+    private float ancho;  // Ancho del ultimo texto maquetado
+
+    /**
+     * Texto fijo.
+     */
+    public TextoCacheado(BitmapFont fuente) {
+        this(fuente, "");
+    }
+
+    /**
+     * Texto formado por un prefijo fijo y un valor que se asigna con setValor.
+     */
+    public TextoCacheado(BitmapFont fuente, String prefijo) {
+        this(fuente, prefijo, "");
+    }
+
+    /**
+     * Texto formado por prefijo, valor y sufijo fijos (por ejemplo "Cargando... 40%").
+     */
+    public TextoCacheado(BitmapFont fuente, String prefijo, String sufijo) {
+        this.cache = new BitmapFontCache(fuente, fuente.usesIntegerPositions());
+        this.prefijo = prefijo;
+        this.sufijo = sufijo;
+        texto.append(prefijo);
+    }
+
+    /**
+     * Ubica el texto con su esquina superior izquierda en (x, y).
+     */
+    public TextoCacheado en(float x, float y) {
+        this.x = x;
+        this.y = y;
+        this.anchoObjetivo = 0;
+        this.alineacion = Align.left;
+        pendiente = true;
+        return this;
+    }
+
+    /**
+     * Centra el texto horizontalmente dentro del ancho dado, empezando en x.
+     */
+    public TextoCacheado centrado(float x, float y, float ancho) {
+        this.x = x;
+        this.y = y;
+        this.anchoObjetivo = ancho;
+        this.alineacion = Align.center;
+        pendiente = true;
+        return this;
+    }
+
+    /**
+     * Cambia el valor que sigue al prefijo. Si es el mismo no hace nada.
+     */
+    public void setValor(int nuevoValor) {
+        if (tieneValor && valor == nuevoValor) return;
+        valor = nuevoValor;
+        tieneValor = true;
+        texto.setLength(0);
+        texto.append(prefijo).append(nuevoValor).append(sufijo);
+        pendiente = true;
+    }
+
+    /**
+     * Cambia el texto completo (despues del prefijo). Si no cambio no hace nada.
+     */
+    public void setTexto(CharSequence nuevoTexto) {
+        if (igualA(nuevoTexto)) return;
+        tieneValor = false;
+        texto.setLength(0);
+        texto.append(prefijo).append(nuevoTexto);
+        pendiente = true;
+    }
+
+    public void setColor(Color nuevoColor) {
+        if (color.equals(nuevoColor)) return;
+        color.set(nuevoColor);
+        if (!pendiente) cache.setColors(color);
+    }
+
+    /**
+     * Cambia solo la transparencia, sin tocar el color ni la maqueta.
+     */
+    public void setAlfa(float alfa) {
+        color.a = alfa;
+        if (!pendiente) cache.setAlphas(alfa);
+    }
+
+    public void dibujar(Batch batch) {
+        if (pendiente) maquetar();
+        cache.draw(batch);
+    }
+
+    /**
+     * Ancho del texto tal como se dibuja (maqueta si hace falta).
+     */
+    public float getAncho() {
+        if (pendiente) maquetar();
+        return ancho;
+    }
+
+    private void maquetar() {
+        cache.setColor(color);
+        GlyphLayout maqueta = cache.setText(texto, x, y, anchoObjetivo, alineacion, false);
+        ancho = maqueta.width;
+        pendiente = false;
+    }
+
+    private boolean igualA(CharSequence otro) {
+        int largoPrefijo = prefijo.length();
+        if (texto.length() != largoPrefijo + otro.length()) return false;
+        for (int i = 0; i < otro.length(); i++) {
+            if (texto.charAt(largoPrefijo + i) != otro.charAt(i)) return false;
+        }
+        return true;
+    }
+}
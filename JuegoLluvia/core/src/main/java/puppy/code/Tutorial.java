@@ -8,6 +8,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
 /**
@@ -34,19 +35,22 @@ public class Tutorial {
     // Mundo base
     private static final float ANCHO = 800, ALTO = 480;
 
-    // Texturas (reutiliza los mismos assets del juego)
-    private final Texture texTarro  = new Texture("bucket.png");
-    private final Texture texBuena  = new Texture("drop.png");
-    private final Texture texMala   = new Texture("dropBad.png");
-    private final Texture texEstrella = new Texture("star.png");
-    private final Texture texCorazon = new Texture("heart.png");
+    // Sprites compartidos con el juego (regiones del atlas, no se liberan aqui)
+    private final TextureRegion texTarro;
+    private final TextureRegion texBuena;
+    private final TextureRegion texMala;
     
-    // Fondo del tutorial (usa el mismo que nivel fácil)
-    private final Texture fondoFacil = new Texture("Facil.png");
+    // Fondo del tutorial (usa el mismo que nivel fácil, cargado por GestorRecursos)
+    private final Texture fondoFacil;
     
-    // Flechas para indicar dirección de movimiento
-    private final Texture flechaIzquierda = new Texture("flechaizquierda.png");
-    private final Texture flechaDerecha = new Texture("flechaDerecha.png");
+    // Flechas para indicar dirección de movimiento (solo del tutorial,
+    // GestorRecursos las carga al entrar y las libera en dispose())
+    private final Texture flechaIzquierda;
+    private final Texture flechaDerecha;
+
+    private static final String TEXTO_FASE_MOVER = "Fase 1: MUEVE el tarro con ";
+    private final GlyphLayout layoutCon = new GlyphLayout();
+    private boolean layoutConListo;
 
     // Entidades
     private Rectangle tarro = new Rectangle(ANCHO / 2f - 32, 32, 64, 64);
@@ -54,9 +58,10 @@ public class Tutorial {
     private float velocidadTarro = 300f;
 
     // Gota actual
-    private Texture texGotaActual = null;
+    private TextureRegion texGotaActual = null;
     private boolean esBuena = false;
     private float gx, gy, gvy;
+    private final Rectangle rGota = new Rectangle(0, 0, 32, 32);
     
     // PowerUp ya no se usa (tutorial de 3 fases)
 
@@ -66,6 +71,23 @@ public class Tutorial {
     private boolean pedirMenu = false;
     private boolean pedirJugar = false;
 
+    /**
+     * Toma los sprites del atlas del juego y las texturas de GestorRecursos.
+     * Antes de crearlo, las texturas del tutorial deben estar cargadas
+     * (GestorRecursos.encolarTutorial y tutorialListo).
+     */
+    public Tutorial() {
+        AtlasJuego atlas = AtlasJuego.getInstance();
+        texTarro = atlas.getRegion(AtlasJuego.TARRO);
+        texBuena = atlas.getRegion(AtlasJuego.GOTA_BUENA);
+        texMala = atlas.getRegion(AtlasJuego.GOTA_MALA);
+
+        GestorRecursos recursos = GestorRecursos.getInstance();
+        fondoFacil = recursos.getTextura(GestorRecursos.FONDO_FACIL);
+        flechaIzquierda = recursos.getTextura(GestorRecursos.FLECHA_IZQUIERDA);
+        flechaDerecha = recursos.getTextura(GestorRecursos.FLECHA_DERECHA);
+    }
+
     /**
      * Reinicia el tutorial al estado inicial cuando el jugador entra.
      */
@@ -202,7 +224,10 @@ public class Tutorial {
                 float flechaSizeTexto = 28f;
                 float textoInicioX = 20f;
                 // Calcular posición X donde dice "con" para colocar las flechas
-                GlyphLayout layoutCon = new GlyphLayout(fuente, "Fase 1: MUEVE el tarro con ");
+                if (!layoutConListo) {
+                    layoutCon.setText(fuente, TEXTO_FASE_MOVER);
+                    layoutConListo = true;
+                }
                 float xFlechas = textoInicioX + layoutCon.width;
                 float flechaYTexto = y + 35f; // Arriba del texto principal
                 
@@ -256,7 +281,7 @@ public class Tutorial {
         if (texGotaActual == null) return;
 
         gy += gvy * dt;
-        Rectangle rGota = new Rectangle(gx, gy, 32, 32);
+        rGota.setPosition(gx, gy);
 
         if (rGota.overlaps(tarro)) {
             if (fase == Fase.ATRAPAR_BUENA && esBuena)
@@ -297,18 +322,11 @@ public class Tutorial {
     public boolean solicitaJugar() { return pedirJugar; }
 
     /**
-     * Libera los recursos del tutorial
-     * Debe llamarse al finalizar el juego
+     * Libera los recursos propios del tutorial (las flechas).
+     * Debe llamarse al salir del tutorial; los sprites y el fondo son del juego.
      */
     public void dispose() {
-        if (texTarro != null) texTarro.dispose();
-        if (texBuena != null) texBuena.dispose();
-        if (texMala != null) texMala.dispose();
-        if (texEstrella != null) texEstrella.dispose();
-        if (texCorazon != null) texCorazon.dispose();
-        if (fondoFacil != null) fondoFacil.dispose();
-        if (flechaIzquierda != null) flechaIzquierda.dispose();
-        if (flechaDerecha != null) flechaDerecha.dispose();
+        GestorRecursos.getInstance().liberarTutorial();
     }
 
     private static float clamp(float v, float min, float max) {